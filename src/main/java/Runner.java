@@ -2,14 +2,30 @@ import data.DataGenerator;
 import graph.TasksJsonParser;
 import graph.condensation.CondensationBuilder;
 import graph.condensation.CondensationResult;
+import graph.condensation.DedupStrategy;
+import graph.condensation.TransitiveReduction;
 import graph.dagsp.ComponentUtils;
+import graph.dagsp.CpmResult;
+import graph.dagsp.CriticalPathMethod;
+import graph.dagsp.FusedPaths;
+import graph.dagsp.FusedPathsResult;
+import graph.dagsp.KLongestPaths;
 import graph.dagsp.LongestPath;
+import graph.dagsp.PathCountResult;
+import graph.dagsp.PathCounting;
+import graph.dagsp.RankedPath;
 import graph.dagsp.SPResult;
 import graph.dagsp.ShortestPaths;
 import graph.model.Graph;
-import graph.scc.Tarjan;
+import graph.scc.SccAlgorithm;
+import graph.scc.SccAlgorithms;
+import graph.scc.SccResult;
+import graph.schedule.ListScheduler;
+import graph.schedule.ScheduleResult;
+import graph.topo.LevelTopologicalSorter;
 import graph.topo.TopologicalSorter;
 import graph.topo.TopoResult;
+import graph.topo.TopoStrategy;
 import metrics.SimpleMetrics;
 import utils.ResultsExporter;
 
@@ -17,10 +33,47 @@ import java.io.File;
 import java.util.*;
 
 // Pipeline that produces JSON + CSV results, includes component_order and derived_task_order in JSON and CSV.
+// Options (system properties):
+//   -Dscc.algorithm=<name>   SCC engine, one of SccAlgorithms.names() (default "tarjan")
+//   -Dscc.parallelism=<p>    worker threads for the "parallel" SCC engine (default: available processors)
+//   -Dscc.trim=true          peel trivial (zero in/out-degree) SCCs before running the SCC engine
+//   -Dcondensation.parallelism=<p>  worker threads for building the condensation graph (default 1, sequential)
+//   -Ddag.reduce=true        run longest path on the transitively reduced DAG (node weight model only)
+//   -Ddag.cpm=true           compute the full CPM schedule (start/finish times and slack of every task)
+//   -Ddag.kpaths=<k>         also report the lengths of the k longest source-to-sink paths (default 0, off)
+//   -Ddag.pathcount=<mode>   count source-to-sink paths through every task, "all" or "critical" (longest
+//                            paths only); writes <dataset>_path_counts.csv (default off)
+//   -Dschedule.workers=<p>   list-schedule the tasks on p workers and report the makespan (default 0, off)
+//   -Dtopo.strategy=<name>   Kahn ready-set order: "min-heap" (default, smallest component ID first), "fifo",
+//                            or "levels" (level-synchronous sort, IDs ascending within each level)
+//   -Dtopo.parallelism=<p>   worker threads for the "levels" sort, also used by dag.pathcount on its levels (default 1)
+//   -Dtopo.fast=true         take the topological order from the SCC engine's numbering when it has one
+//                            (tarjan, tarjan-recursive, pearce, kosaraju, trim-tarjan) and skip Kahn; not
+//                            allowed with topo.strategy=levels
 public class Runner {
     public static void main(String[] args) throws Exception {
         String dataDir = args.length > 0 ? args[0] : "data";
         String resultsDir = args.length > 1 ? args[1] : "results";
+        int sccParallelism = Integer.getInteger("scc.parallelism", Runtime.getRuntime().availableProcessors());
+        SccAlgorithm sccAlgorithm = SccAlgorithms.byName(System.getProperty("scc.algorithm", SccAlgorithms.TARJAN),
+                sccParallelism, Boolean.getBoolean("scc.trim"));
+        int condensationParallelism = Integer.getInteger("condensation.parallelism", 1);
+        boolean reduceDag = Boolean.getBoolean("dag.reduce");
+        boolean cpm = Boolean.getBoolean("dag.cpm");
+        int kPaths = Integer.getInteger("dag.kpaths", 0);
+        String pathCountMode = System.getProperty("dag.pathcount");
+        if (pathCountMode != null && !"all".equals(pathCountMode) && !"critical".equals(pathCountMode)) {
+            throw new IllegalArgumentException("Unknown path count mode '" + pathCountMode
+                    + "', expected one of [all, critical]");
+        }
+        int scheduleWorkers = Integer.getInteger("schedule.workers", 0);
+        String topoStrategyName = System.getProperty("topo.strategy", "min-heap");
+        TopoStrategy topoStrategy = topoStrategy(topoStrategyName);
+        int topoParallelism = Integer.getInteger("topo.parallelism", 1);
+        boolean topoFast = Boolean.getBoolean("topo.fast");
+        if (topoFast && "levels".equals(topoStrategyName)) {
+            throw new IllegalArgumentException("topo.fast cannot be combined with topo.strategy 'levels'");
+        }
 
         File dataD = new File(dataDir);
         // If data dir missing or empty -> run DataGenerator to create sample datasets
@@ -51,44 +104,81 @@ public class Runner {
 
             // SCC
             SimpleMetrics sccMetrics = new SimpleMetrics();
-            Tarjan tarjan = new Tarjan(graph);
-            List<List<Integer>> SCCs = tarjan.findSCCs(sccMetrics);
+            SccResult sccResult = sccAlgorithm.findSCCs(graph.getCsr(), sccMetrics);
+            List<List<Integer>> SCCs = sccResult.toComponentList();
             long timeScc = sccMetrics.get("time.scc") != 0 ? sccMetrics.get("time.scc") : sccMetrics.getElapsedNanos();
 
             // Condensation
             SimpleMetrics condensedMetrics = new SimpleMetrics();
-            CondensationBuilder condensationBuilder = new CondensationBuilder();
-            CondensationResult condensationResult = condensationBuilder.build(graph, SCCs, condensedMetrics);
+            CondensationBuilder condensationBuilder = new CondensationBuilder(DedupStrategy.ADAPTIVE, condensationParallelism);
+            CondensationResult condensationResult = condensationBuilder.build(graph.getCsr(), sccResult, condensedMetrics);
             long timeCondensation = condensedMetrics.get("condensation.time.nanos");
 
             // Topo
             SimpleMetrics topoMetrics = new SimpleMetrics();
-            TopologicalSorter topoSorter = new TopologicalSorter();
-            TopoResult topoResult = topoSorter.KahnSort(condensationResult, topoMetrics);
+            TopoResult topoResult;
+            if (topoFast) {
+                topoResult = new TopologicalSorter().fromSccOrder(condensationResult, sccResult.getOrder(),
+                        topoStrategy, topoMetrics);
+            } else if ("levels".equals(topoStrategyName)) {
+                topoResult = new LevelTopologicalSorter(topoParallelism).levelSort(condensationResult, topoMetrics);
+            } else {
+                topoResult = new TopologicalSorter().KahnSort(condensationResult, topoStrategy, null, topoMetrics);
+            }
             long timeTopo = topoMetrics.get("topo.time.nanos");
 
             // component order and derived task order
             List<Integer> componentOrder = topoResult.getComponentOrder();
 
-            // Build derived task order by expanding components in topological order.
-            // For determinism, sort nodes inside each component.
-            List<List<Integer>> components = condensationResult.getComponents();
-            List<Integer> derivedTaskOrder = new ArrayList<>();
-            for (int compId : componentOrder) {
-                List<Integer> nodes = new ArrayList<>(components.get(compId));
-                Collections.sort(nodes);
-                derivedTaskOrder.addAll(nodes);
-            }
+            // Derived task order: components expanded in topological order, nodes sorted inside each component.
+            List<Integer> derivedTaskOrder = topoResult.getDerivedOrder();
 
             // DAG SP
             SimpleMetrics dagMetrics = new SimpleMetrics();
-            ShortestPaths sp = new ShortestPaths();
-            SPResult spResult = sp.shortestPaths(condensationResult, graph, topoResult, graph.getSource(), weightModel, dagMetrics);
-            LongestPath lp = new LongestPath();
-            SPResult lpResult = lp.longestPath(condensationResult, graph, topoResult, graph.getSource(), weightModel, dagMetrics);
+            SimpleMetrics reductionMetrics = new SimpleMetrics();
+            SPResult spResult;
+            SPResult lpResult;
+            if (reduceDag && "node".equals(weightModel)) {
+                // Transitive reduction keeps node-weighted longest paths, but not shortest or edge-weighted ones,
+                // so the two DPs run on different DAGs here.
+                ShortestPaths sp = new ShortestPaths();
+                spResult = sp.shortestPaths(condensationResult, graph, topoResult, graph.getSource(), weightModel, dagMetrics);
+                CondensationResult reduced = new TransitiveReduction().reduce(condensationResult, topoResult, reductionMetrics);
+                LongestPath lp = new LongestPath();
+                lpResult = lp.longestPath(reduced, graph, topoResult, graph.getSource(), weightModel, dagMetrics);
+            } else {
+                // Both DPs in one topological sweep.
+                FusedPathsResult paths = new FusedPaths().compute(
+                        condensationResult, graph, topoResult, graph.getSource(), weightModel, dagMetrics);
+                spResult = paths.shortest;
+                lpResult = paths.longest;
+            }
             long timeDag = dagMetrics.get("dag.time.nanos");
             long relaxations = dagMetrics.get("dag.relaxations");
 
+            // full CPM schedule (optional)
+            SimpleMetrics cpmMetrics = new SimpleMetrics();
+            CpmResult cpmResult = cpm
+                    ? new CriticalPathMethod().compute(condensationResult, graph, topoResult, weightModel, cpmMetrics)
+                    : null;
+
+            // k longest paths (optional)
+            List<RankedPath> rankedPaths = kPaths > 0
+                    ? new KLongestPaths().longestPaths(condensationResult, graph, topoResult, graph.getSource(),
+                    weightModel, kPaths, null)
+                    : Collections.emptyList();
+
+            // per-task path counts (optional)
+            PathCountResult pathCounts = pathCountMode == null ? null
+                    : new PathCounting(topoParallelism).count(condensationResult, graph, topoResult, weightModel,
+                    "critical".equals(pathCountMode), null);
+
+            // list schedule on P workers (optional)
+            SimpleMetrics scheduleMetrics = new SimpleMetrics();
+            ScheduleResult schedule = scheduleWorkers > 0
+                    ? new ListScheduler(scheduleWorkers).schedule(condensationResult, graph, topoResult, scheduleMetrics)
+                    : null;
+
             // critical path (longest)
             int k = condensationResult.getComponentCount();
             long bestVal = Long.MIN_VALUE;
@@ -149,11 +239,34 @@ public class Runner {
             payload.put("weight_model", weightModel);
             payload.put("scc_count", SCCs.size());
             payload.put("scc_sizes", SCCs.stream().map(List::size).toArray());
+            payload.put("scc_algorithm", sccAlgorithm.getName());
+            payload.put("scc_memory_bytes", sccMetrics.get("scc.memory.bytes"));
+            payload.put("scc_trimmed_nodes", sccMetrics.get("scc.trim.nodes"));
             payload.put("time_scc_ns", timeScc);
             payload.put("time_condensation_ns", timeCondensation);
             payload.put("time_topo_ns", timeTopo);
+            payload.put("topo_levels", topoResult.getLevelCount());
+            payload.put("topo_path", topoMetrics.get("topo.path.fast") > 0 ? "fast" : "kahn");
             payload.put("time_dag_ns", timeDag);
             payload.put("dag_relaxations", relaxations);
+            payload.put("reduction_edges_removed", reductionMetrics.get("reduction.edges.removed"));
+            payload.put("time_reduction_ns", reductionMetrics.get("reduction.time.nanos"));
+            if (cpmResult != null) {
+                payload.put("cpm_project_duration", cpmResult.projectDuration);
+                payload.put("cpm_critical_tasks", cpmResult.criticalCount());
+                payload.put("time_cpm_ns", cpmMetrics.get("cpm.time.nanos"));
+            }
+            if (pathCounts != null) {
+                payload.put("total_paths", pathCounts.totalPaths);
+            }
+            if (schedule != null) {
+                payload.put("schedule_workers", schedule.workers);
+                payload.put("schedule_makespan", schedule.makespan);
+                payload.put("time_schedule_ns", scheduleMetrics.get("schedule.time.nanos"));
+            }
+            if (kPaths > 0) {
+                payload.put("k_longest_path_lengths", rankedPaths.stream().mapToLong(path -> path.length).toArray());
+            }
 
             // component order + derived task order
             payload.put("component_order", componentOrder);
@@ -170,6 +283,10 @@ public class Runner {
 
             // write outputs
             exporter.writeDatasetJson(file.getName().replace(".json", ""), payload);
+            if (pathCounts != null) {
+                exporter.writePathCountsCsv(file.getName().replace(".json", ""),
+                        condensationResult.getNodeToComponent(), pathCounts);
+            }
 
             long shortestLenForCsv = (shortestPathLen == null) ? -1L : shortestPathLen;
             String shortestNodePathStr = shortestNodePath.toString();
@@ -203,4 +320,19 @@ public class Runner {
 
         System.out.println("All done. Results in " + resultsDir);
     }
+
+    // Kahn ready-set order for a topo.strategy name; "levels" is sorted by LevelTopologicalSorter instead
+    // and never uses it.
+    private static TopoStrategy topoStrategy(String name) {
+        switch (name) {
+            case "min-heap":
+            case "levels":
+                return TopoStrategy.MIN_HEAP;
+            case "fifo":
+                return TopoStrategy.FIFO;
+            default:
+                throw new IllegalArgumentException("Unknown topo strategy '" + name
+                        + "', expected one of [min-heap, fifo, levels]");
+        }
+    }
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package graph;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import graph.model.CsrGraph;
 import graph.model.Edge;
 import graph.model.Graph;
 import graph.model.Node;
@@ -9,6 +12,7 @@ import graph.model.Node;
 import java.io.FileReader;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 // Simple parser to read graph data from a JSON file in the assignment format.
@@ -74,4 +78,102 @@ public class TasksJsonParser {
             return new Graph(dto.directed, dto.n, nodes, edges, dto.source, dto.weightModel);
         }
     }
-}
\ No newline at end of file
+
+    // Streams the JSON file straight into a CSR graph without creating Edge/Node objects.
+    // Only the structure is read: 'source' and 'weight_model' are skipped.
+    public CsrGraph parseCsr(String filename) throws Exception {
+        try (JsonReader reader = new JsonReader(new FileReader(filename))) {
+            int n = 0;
+            int m = 0;
+            int[] us = new int[16];
+            int[] vs = new int[16];
+            int[] ws = new int[16];
+            int nodeCount = 0;
+            int[] nodeIds = new int[16];
+            int[] nodeDurations = new int[16];
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("n".equals(name)) {
+                    n = reader.nextInt();
+                } else if ("edges".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (m == us.length) {
+                            us = Arrays.copyOf(us, m * 2);
+                            vs = Arrays.copyOf(vs, m * 2);
+                            ws = Arrays.copyOf(ws, m * 2);
+                        }
+                        int u = 0, v = 0, w = 0;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            String field = reader.nextName();
+                            if ("u".equals(field)) {
+                                u = reader.nextInt();
+                            } else if ("v".equals(field)) {
+                                v = reader.nextInt();
+                            } else if ("w".equals(field)) {
+                                w = nextIntOrZero(reader);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        us[m] = u;
+                        vs[m] = v;
+                        ws[m] = w;
+                        m++;
+                    }
+                    reader.endArray();
+                } else if ("nodes".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (nodeCount == nodeIds.length) {
+                            nodeIds = Arrays.copyOf(nodeIds, nodeCount * 2);
+                            nodeDurations = Arrays.copyOf(nodeDurations, nodeCount * 2);
+                        }
+                        int id = 0, duration = 0;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            String field = reader.nextName();
+                            if ("id".equals(field)) {
+                                id = reader.nextInt();
+                            } else if ("duration".equals(field)) {
+                                duration = nextIntOrZero(reader);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        nodeIds[nodeCount] = id;
+                        nodeDurations[nodeCount] = duration;
+                        nodeCount++;
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            // 'n' may appear after the arrays, so durations are placed once all fields are read.
+            int[] durations = new int[n];
+            for (int i = 0; i < nodeCount; i++) {
+                if (nodeIds[i] >= 0 && nodeIds[i] < n) {
+                    durations[nodeIds[i]] = nodeDurations[i];
+                }
+            }
+            return CsrGraph.fromEdgeArrays(n, us, vs, ws, m, durations);
+        }
+    }
+
+    // Reads an integer value, treating JSON null as 0.
+    private static int nextIntOrZero(JsonReader reader) throws Exception {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+        return reader.nextInt();
+    }
+}
@@ -1,15 +1,70 @@
 package graph.condensation;
 
-import graph.model.Edge;
+import graph.model.CsrGraph;
 import graph.model.Graph;
+import graph.scc.SccResult;
 import metrics.Metrics;
 
 import java.util.*;
 
 // Builds the Condensation Graph from the original graph and its SCCs.
+// One fused pass produces the condensation DAG in CSR form (rows sorted by target component), the
+// summed node duration per component and the minimum and maximum original edge weight per
+// condensation edge. Parallel original edges are folded by the chosen DedupStrategy; both strategies
+// give identical arrays and nothing is boxed or hashed per edge.
 public class CondensationBuilder {
+    // ADAPTIVE uses the marker arrays while they fit comfortably in cache (4 ints per component).
+    static final int MARKER_MAX_COMPONENTS = 1 << 16;
+    private static final int RADIX_BITS = 11;
+    // Below this many original edges the parallel mode falls back to the sequential build.
+    private static final int DEFAULT_PARALLEL_MIN_EDGES = 1 << 16;
+
+    private final DedupStrategy strategy;
+    private final int parallelism;
+    private final int parallelMinEdges;
+
+    // Initializes the builder with the adaptive dedup strategy.
+    public CondensationBuilder() {
+        this(DedupStrategy.ADAPTIVE);
+    }
+
+    // Initializes the builder with the given dedup strategy.
+    public CondensationBuilder(DedupStrategy strategy) {
+        this(strategy, 1);
+    }
+
+    // Initializes the builder with the given dedup strategy and parallelism level.
+    // With parallelism above 1, large graphs are condensed by ParallelCondensation (sort-based dedup,
+    // same result as the sequential build); the strategy then only applies to small graphs.
+    public CondensationBuilder(DedupStrategy strategy, int parallelism) {
+        this(strategy, parallelism, DEFAULT_PARALLEL_MIN_EDGES);
+    }
+
+    // Variant with a custom sequential fallback threshold, for tests.
+    CondensationBuilder(DedupStrategy strategy, int parallelism, int parallelMinEdges) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.strategy = strategy;
+        this.parallelism = parallelism;
+        this.parallelMinEdges = parallelMinEdges;
+    }
+
+    // Returns the strategy actually used for k components and m edges.
+    static DedupStrategy resolve(DedupStrategy strategy, int k, int m) {
+        if (strategy != DedupStrategy.ADAPTIVE) {
+            return strategy;
+        }
+        return k > MARKER_MAX_COMPONENTS && m >= k ? DedupStrategy.SORT : DedupStrategy.MARKER;
+    }
+
     // Builds the condensation graph structure.
     public CondensationResult build(Graph graph, List<List<Integer>> SCCs, Metrics metrics) {
+        return build(graph.getCsr(), SCCs, metrics);
+    }
+
+    // Builds the condensation graph structure from the CSR form of the graph.
+    public CondensationResult build(CsrGraph graph, List<List<Integer>> SCCs, Metrics metrics) {
         if (metrics != null) {
             metrics.startTimer();
         }
@@ -17,58 +72,241 @@ public class CondensationBuilder {
         int n = graph.getN(); // Number of original nodes
         int k = SCCs.size(); // Number of components
 
-        // Array mapping original node ID to its Component ID.
+        // Array mapping original node ID to its Component ID, and the members grouped per component.
         int[] nodeToComponent = new int[n];
         Arrays.fill(nodeToComponent, -1);
-        for (int componentId = 0; componentId < SCCs.size(); componentId++) {
+        int[] memberOffsets = new int[k + 1];
+        for (int componentId = 0; componentId < k; componentId++) {
+            memberOffsets[componentId + 1] = memberOffsets[componentId] + SCCs.get(componentId).size();
+        }
+        int[] members = new int[memberOffsets[k]];
+        int written = 0;
+        for (int componentId = 0; componentId < k; componentId++) {
             for (int node : SCCs.get(componentId)) {
+                members[written++] = node;
                 if (node >= 0 && node < n) {
                     nodeToComponent[node] = componentId;
                 }
             }
         }
 
-        // List of adjacency sets for components.
-        List<Set<Integer>> adjacentComponents = new ArrayList<>();
-        for (int i = 0; i < k; i++) {
-            adjacentComponents.add(new HashSet<>());
+        return fuse(graph, SCCs, nodeToComponent, memberOffsets, members, metrics);
+    }
+
+    // Builds the condensation graph structure directly from an SccResult.
+    public CondensationResult build(CsrGraph graph, SccResult scc, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
         }
+        return fuse(graph, scc.toComponentList(), scc.getComponentOf().clone(),
+                scc.getComponentOffsets(), scc.getMembers(), metrics);
+    }
 
-        long processedEdges = 0L;
-        long addedEdges = 0L;
+    private CondensationResult fuse(CsrGraph graph, List<List<Integer>> SCCs, int[] nodeToComponent,
+                                    int[] memberOffsets, int[] members, Metrics metrics) {
+        int k = memberOffsets.length - 1;
+        boolean parallel = parallelism > 1 && graph.getEdgeCount() >= parallelMinEdges;
+        DedupStrategy used = parallel ? DedupStrategy.SORT : resolve(strategy, k, graph.getEdgeCount());
+        Condensed condensed;
+        if (parallel) {
+            condensed = new ParallelCondensation(graph, nodeToComponent, memberOffsets, members, parallelism).run();
+        } else if (used == DedupStrategy.SORT) {
+            condensed = dedupBySort(graph, nodeToComponent, k);
+        } else {
+            condensed = dedupByMarker(graph, nodeToComponent, memberOffsets, members);
+        }
 
-        // Iterate through all original edges to build condensation edges.
-        if (graph.getEdges() != null) {
-            for (Edge edge : graph.getEdges()) {
-                processedEdges++;
-                int u = edge.getU();
-                int v = edge.getV();
-                if (u < 0 || v < 0 || u >= n || v >= n) {
-                    continue; // Skip invalid nodes
-                }
-                int componentU = nodeToComponent[u];
-                int componentV = nodeToComponent[v];
-                if (componentU == -1 || componentV == -1) {
+        int edgeCount = condensed.offsets[k];
+        CsrGraph componentGraph = new CsrGraph(k, condensed.offsets, condensed.targets, condensed.minWeights, new int[k]);
+
+        // Report metrics and stop timer.
+        if (metrics != null) {
+            metrics.incBy("condensation.edges.processed", condensed.processedEdges);
+            metrics.incBy("condensation.edges.added", edgeCount); // Count unique condensation edges
+            metrics.putLong("condensation.dedup.sort", used == DedupStrategy.SORT ? 1 : 0);
+            metrics.putLong("condensation.parallelism", parallel ? parallelism : 1);
+            metrics.stopTimer();
+            metrics.putLong("condensation.time.nanos", metrics.getElapsedNanos());
+        }
+
+        return new CondensationResult(SCCs, nodeToComponent, componentGraph,
+                condensed.componentWeights, condensed.minWeights, condensed.maxWeights);
+    }
+
+    // One pass over every component's members and their out-edges. Duplicate edges are folded with a
+    // per-target marker stamped by the current source component; rows are sorted at the end of each row.
+    private static Condensed dedupByMarker(CsrGraph graph, int[] nodeToComponent, int[] memberOffsets, int[] members) {
+        int n = graph.getN();
+        int k = memberOffsets.length - 1;
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int[] durations = graph.getDurations();
+
+        Condensed result = new Condensed(k, graph.getEdgeCount());
+        int[] seenBy = new int[k]; // Source component + 1 that last saw each target component
+        int[] rowSlot = new int[k]; // Discovery position of each target within the current row
+        int[] rowMin = new int[k];
+        int[] rowMax = new int[k];
+
+        int edgeCount = 0;
+        for (int componentU = 0; componentU < k; componentU++) {
+            int rowStart = edgeCount;
+            int stamp = componentU + 1;
+            for (int i = memberOffsets[componentU]; i < memberOffsets[componentU + 1]; i++) {
+                int u = members[i];
+                if (u < 0 || u >= n || nodeToComponent[u] != componentU) {
                     continue; // Skip unmapped nodes
                 }
-                if (componentU != componentV) {
-                    // add edge to condensation graph.
-                    boolean added = adjacentComponents.get(componentU).add(componentV);
-                    if (added) {
-                        addedEdges++; // Count unique condensation edges
+                result.componentWeights[componentU] += durations[u];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    result.processedEdges++;
+                    int componentV = nodeToComponent[targets[e]];
+                    if (componentV == -1 || componentV == componentU) {
+                        continue;
+                    }
+                    int weight = weights[e];
+                    if (seenBy[componentV] != stamp) {
+                        // First edge to this component: add edge to condensation graph.
+                        seenBy[componentV] = stamp;
+                        int slot = edgeCount - rowStart;
+                        rowSlot[componentV] = slot;
+                        rowMin[slot] = weight;
+                        rowMax[slot] = weight;
+                        result.targets[edgeCount++] = componentV;
+                    } else {
+                        int slot = rowSlot[componentV];
+                        rowMin[slot] = Math.min(rowMin[slot], weight);
+                        rowMax[slot] = Math.max(rowMax[slot], weight);
                     }
                 }
             }
+            // Sort the row by target and carry the weights along through rowSlot.
+            Arrays.sort(result.targets, rowStart, edgeCount);
+            for (int e = rowStart; e < edgeCount; e++) {
+                int slot = rowSlot[result.targets[e]];
+                result.minWeights[e] = rowMin[slot];
+                result.maxWeights[e] = rowMax[slot];
+            }
+            result.offsets[componentU + 1] = edgeCount;
         }
+        return result.trim(edgeCount);
+    }
 
-        // Report metrics and stop timer.
-        if (metrics != null) {
-            metrics.incBy("condensation.edges.processed", processedEdges);
-            metrics.incBy("condensation.edges.added", addedEdges);
-            metrics.stopTimer();
-            metrics.putLong("condensation.time.nanos", metrics.getElapsedNanos());
+    // One pass over all nodes emitting every cross edge as the packed key componentU * k + componentV,
+    // then an LSD radix sort of the keys (carrying the weights) and a unique pass over equal runs.
+    private static Condensed dedupBySort(CsrGraph graph, int[] nodeToComponent, int k) {
+        int n = graph.getN();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int[] durations = graph.getDurations();
+
+        Condensed result = new Condensed(k, graph.getEdgeCount());
+        long[] keys = new long[graph.getEdgeCount()];
+        int[] keyWeights = new int[graph.getEdgeCount()];
+        int count = 0;
+        for (int u = 0; u < n; u++) {
+            int componentU = nodeToComponent[u];
+            if (componentU == -1) {
+                continue; // Skip unmapped nodes
+            }
+            result.componentWeights[componentU] += durations[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                result.processedEdges++;
+                int componentV = nodeToComponent[targets[e]];
+                if (componentV == -1 || componentV == componentU) {
+                    continue;
+                }
+                keys[count] = (long) componentU * k + componentV;
+                keyWeights[count] = weights[e];
+                count++;
+            }
         }
 
-        return new CondensationResult(SCCs, nodeToComponent, adjacentComponents);
+        int keyBits = 64 - Long.numberOfLeadingZeros(Math.max(1L, (long) k * k - 1));
+        radixSort(keys, keyWeights, count, keyBits);
+
+        int edgeCount = 0;
+        for (int i = 0; i < count; ) {
+            long key = keys[i];
+            int min = keyWeights[i];
+            int max = keyWeights[i];
+            for (i++; i < count && keys[i] == key; i++) {
+                min = Math.min(min, keyWeights[i]);
+                max = Math.max(max, keyWeights[i]);
+            }
+            result.offsets[(int) (key / k) + 1]++;
+            result.targets[edgeCount] = (int) (key % k);
+            result.minWeights[edgeCount] = min;
+            result.maxWeights[edgeCount] = max;
+            edgeCount++;
+        }
+        for (int componentU = 0; componentU < k; componentU++) {
+            result.offsets[componentU + 1] += result.offsets[componentU];
+        }
+        return result.trim(edgeCount);
+    }
+
+    // Stable LSD radix sort of keys[0 .. count) on their low keyBits bits; values move with their keys.
+    static void radixSort(long[] keys, int[] values, int count, int keyBits) {
+        int radix = 1 << RADIX_BITS;
+        long[] keyBuffer = new long[count];
+        int[] valueBuffer = new int[count];
+        int[] bucket = new int[radix + 1];
+        long[] fromKeys = keys;
+        int[] fromValues = values;
+        long[] toKeys = keyBuffer;
+        int[] toValues = valueBuffer;
+        for (int shift = 0; shift < keyBits; shift += RADIX_BITS) {
+            Arrays.fill(bucket, 0);
+            for (int i = 0; i < count; i++) {
+                bucket[(int) ((fromKeys[i] >>> shift) & (radix - 1)) + 1]++;
+            }
+            for (int d = 0; d < radix; d++) {
+                bucket[d + 1] += bucket[d];
+            }
+            for (int i = 0; i < count; i++) {
+                int position = bucket[(int) ((fromKeys[i] >>> shift) & (radix - 1))]++;
+                toKeys[position] = fromKeys[i];
+                toValues[position] = fromValues[i];
+            }
+            long[] swapKeys = fromKeys;
+            fromKeys = toKeys;
+            toKeys = swapKeys;
+            int[] swapValues = fromValues;
+            fromValues = toValues;
+            toValues = swapValues;
+        }
+        if (fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, 0, count);
+            System.arraycopy(fromValues, 0, values, 0, count);
+        }
+    }
+
+    // Arrays produced by either dedup strategy or by ParallelCondensation.
+    static final class Condensed {
+        final int[] offsets;
+        int[] targets;
+        int[] minWeights;
+        int[] maxWeights;
+        final long[] componentWeights;
+        long processedEdges;
+
+        // Allocates for k components and at most maxEdges condensation edges.
+        Condensed(int k, int maxEdges) {
+            offsets = new int[k + 1];
+            targets = new int[maxEdges];
+            minWeights = new int[maxEdges];
+            maxWeights = new int[maxEdges];
+            componentWeights = new long[k];
+        }
+
+        Condensed trim(int edgeCount) {
+            targets = Arrays.copyOf(targets, edgeCount);
+            minWeights = Arrays.copyOf(minWeights, edgeCount);
+            maxWeights = Arrays.copyOf(maxWeights, edgeCount);
+            return this;
+        }
     }
-}
\ No newline at end of file
+}
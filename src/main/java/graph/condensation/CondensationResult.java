@@ -1,17 +1,41 @@
 package graph.condensation;
 
+import graph.model.CsrGraph;
+
 import java.util.*;
 
 // Stores the structure of the resulting Condensation Graph.
 public class CondensationResult {
     private final List<List<Integer>> components; // List of SCCs
     private final int[] nodeToComponent; // Original node ID -> Component ID
-    private final List<Set<Integer>> adjacentComponents; // Adjacency list of the condensation graph
+    private List<Set<Integer>> adjacentComponents; // Set view of componentGraph, built on first request
     private final List<Integer> componentSizes; // Size of each component
+    private CsrGraph componentGraph; // Adjacency of the condensation graph; from the sets if built from them
+    private final long[] componentWeights; // Summed node durations per component, null if not built
+    private final int[] minEdgeWeights; // Per componentGraph edge, null if not built
+    private final int[] maxEdgeWeights; // Per componentGraph edge, null if not built
 
     // Initializes the result structure.
     public CondensationResult(List<List<Integer>> components, int[] nodeToComponent,
                               List<Set<Integer>> adjacentComponents) {
+        this(components, nodeToComponent, adjacentComponents, null, null, null, null);
+    }
+
+    // Initializes the result structure from the int-array adjacency and the data computed by the fused
+    // condensation pass. componentGraph rows must be sorted by target; the edge weight arrays are
+    // aligned with its targets.
+    public CondensationResult(List<List<Integer>> components, int[] nodeToComponent, CsrGraph componentGraph,
+                              long[] componentWeights, int[] minEdgeWeights, int[] maxEdgeWeights) {
+        this(components, nodeToComponent, null, componentGraph, componentWeights, minEdgeWeights, maxEdgeWeights);
+    }
+
+    private CondensationResult(List<List<Integer>> components, int[] nodeToComponent,
+                               List<Set<Integer>> adjacentComponents, CsrGraph componentGraph,
+                               long[] componentWeights, int[] minEdgeWeights, int[] maxEdgeWeights) {
+        this.componentGraph = componentGraph;
+        this.componentWeights = componentWeights;
+        this.minEdgeWeights = minEdgeWeights;
+        this.maxEdgeWeights = maxEdgeWeights;
         this.components = Collections.unmodifiableList(components);
         this.nodeToComponent = nodeToComponent;
         this.adjacentComponents = adjacentComponents;
@@ -33,10 +57,69 @@ public class CondensationResult {
     }
 
     // Returns the adjacency list of the condensation graph.
-    public List<Set<Integer>> getAdjacentComponents() {
+    // Compatibility view: when the result was built from int arrays, the sets are created from
+    // componentGraph on first call (iterating in ascending order) and must not be modified.
+    public synchronized List<Set<Integer>> getAdjacentComponents() {
+        if (adjacentComponents == null) {
+            int[] offsets = componentGraph.getOffsets();
+            int[] targets = componentGraph.getTargets();
+            int k = componentGraph.getN();
+            List<Set<Integer>> view = new ArrayList<>(k);
+            for (int u = 0; u < k; u++) {
+                Set<Integer> adjacent = new LinkedHashSet<>();
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    adjacent.add(targets[e]);
+                }
+                view.add(Collections.unmodifiableSet(adjacent));
+            }
+            adjacentComponents = Collections.unmodifiableList(view);
+        }
         return adjacentComponents;
     }
 
+    // Returns the condensation graph in CSR form with every row sorted by target component.
+    // Comes from the fused condensation pass (with minimum edge weights), or is built once from
+    // adjacentComponents on first call with edge weights left at 0.
+    public synchronized CsrGraph getComponentGraph() {
+        if (componentGraph == null) {
+            int k = adjacentComponents.size();
+            int[] offsets = new int[k + 1];
+            for (int u = 0; u < k; u++) {
+                offsets[u + 1] = offsets[u] + adjacentComponents.get(u).size();
+            }
+            int[] targets = new int[offsets[k]];
+            for (int u = 0; u < k; u++) {
+                int position = offsets[u];
+                for (int v : adjacentComponents.get(u)) {
+                    targets[position++] = v;
+                }
+                Arrays.sort(targets, offsets[u], offsets[u + 1]);
+            }
+            componentGraph = new CsrGraph(k, offsets, targets, new int[offsets[k]], new int[k]);
+        }
+        return componentGraph;
+    }
+
+    // Returns true if component and edge weights were computed together with the condensation.
+    public boolean hasWeights() {
+        return componentWeights != null;
+    }
+
+    // Returns the summed node duration per component, or null. The array is shared, do not modify it.
+    public long[] getComponentWeights() {
+        return componentWeights;
+    }
+
+    // Returns the minimum original edge weight per componentGraph edge, or null. Shared, do not modify.
+    public int[] getMinEdgeWeights() {
+        return minEdgeWeights;
+    }
+
+    // Returns the maximum original edge weight per componentGraph edge, or null. Shared, do not modify.
+    public int[] getMaxEdgeWeights() {
+        return maxEdgeWeights;
+    }
+
     // Returns the list of component sizes.
     public List<Integer> getComponentSizes() {
         return componentSizes;
@@ -53,8 +136,9 @@ public class CondensationResult {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("CondensationResult{components=").
                 append(components.size()).append(", adjacentComponents=[");
-        for (int i = 0; i < adjacentComponents.size(); i++) {
-            stringBuilder.append(i).append("->").append(adjacentComponents.get(i)).append(", ");
+        List<Set<Integer>> adjacent = getAdjacentComponents();
+        for (int i = 0; i < adjacent.size(); i++) {
+            stringBuilder.append(i).append("->").append(adjacent.get(i)).append(", ");
         }
         stringBuilder.append("]}");
         return stringBuilder.toString();
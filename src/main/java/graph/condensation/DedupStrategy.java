@@ -0,0 +1,13 @@
+package graph.condensation;
+
+// How CondensationBuilder folds parallel original edges into one condensation edge.
+public enum DedupStrategy {
+    // Per-target marker array stamped with the current source component; needs O(k) scratch with
+    // random access per edge, best while the k-sized arrays stay in cache.
+    MARKER,
+    // Radix sort of (componentU, componentV) pairs packed into longs, then a unique pass; needs
+    // O(m) scratch but only sequential passes, best when k is too large for the marker arrays.
+    SORT,
+    // Picks MARKER or SORT from k and m.
+    ADAPTIVE
+}
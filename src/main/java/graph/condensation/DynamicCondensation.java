@@ -0,0 +1,633 @@
+package graph.condensation;
+
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.scc.IterativeTarjan;
+import graph.scc.SccResult;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.*;
+
+// Maintains the SCC partition, the condensation adjacency and a topological order of the components
+// while edges are inserted and deleted, without recomputing from scratch.
+//
+// Order: every component holds a long label; labels increase along the topological order and are
+// kept in a TreeMap. Labels start GAP apart so that splits can insert new components in between;
+// when a gap runs out all labels are respaced.
+//
+// Insertion of a new condensation edge cu->cv with label[cu] > label[cv] runs a Pearce-Kelly style
+// search: forward from cv over labels <= label[cu] and backward from cu over labels >= label[cv].
+// If the forward search reaches cu, the edge closed a cycle and the components found by both
+// searches are merged. Only the visited components are relabeled.
+//
+// Deletion of an edge inside a component re-runs Tarjan on that component's induced subgraph only,
+// and splits it if it is no longer strongly connected. Deleting a cross edge never breaks the order.
+//
+// Update cost is proportional to the affected components and their edges, not to the whole graph.
+// Not thread-safe.
+public class DynamicCondensation {
+    private static final long GAP = 1L << 30;
+
+    private final int n;
+
+    // Node-level multigraph, rows are growable
+    private final int[][] out;
+    private final int[] outSize;
+    private final int[][] in;
+    private final int[] inSize;
+
+    // Component state, indexed by component ID (never more than n alive at once)
+    private final int[] componentOf;
+    private final int[][] members;
+    private final int[] memberCount;
+    private final List<Map<Integer, Integer>> successors; // Cross-edge multiplicity per target component
+    private final List<Map<Integer, Integer>> predecessors; // Cross-edge multiplicity per source component
+    private final long[] label;
+    private final TreeMap<Long, Integer> order = new TreeMap<>(); // label -> component, in topological order
+    private final int[] freeIds;
+    private int freeTop;
+    private int componentCount;
+    private long version;
+
+    // Scratch for searches and splits
+    private final int[] forwardMark;
+    private final int[] backwardMark;
+    private int stamp;
+    private final int[] localIndex;
+    private int[] stack = new int[16];
+    private int[] forwardSet = new int[16];
+    private int[] backwardSet = new int[16];
+
+    // Per-update counters, flushed to Metrics by the public methods
+    private long merges;
+    private long splits;
+    private long reorders;
+    private long affected;
+
+    // Initializes from the graph's CSR form.
+    public DynamicCondensation(Graph graph) {
+        this(graph.getCsr());
+    }
+
+    // Initializes from a CSR graph: one SCC run, then everything is maintained incrementally.
+    public DynamicCondensation(CsrGraph graph) {
+        this.n = graph.getN();
+        out = new int[n][];
+        outSize = new int[n];
+        in = new int[n][];
+        inSize = new int[n];
+        CsrGraph reverse = graph.reverse();
+        for (int u = 0; u < n; u++) {
+            out[u] = Arrays.copyOfRange(graph.getTargets(), graph.getOffsets()[u], graph.getOffsets()[u + 1]);
+            outSize[u] = out[u].length;
+            in[u] = Arrays.copyOfRange(reverse.getTargets(), reverse.getOffsets()[u], reverse.getOffsets()[u + 1]);
+            inSize[u] = in[u].length;
+        }
+
+        componentOf = new int[n];
+        members = new int[n][];
+        memberCount = new int[n];
+        label = new long[n];
+        successors = new ArrayList<>(n);
+        predecessors = new ArrayList<>(n);
+        for (int c = 0; c < n; c++) {
+            successors.add(null);
+            predecessors.add(null);
+        }
+        forwardMark = new int[n];
+        backwardMark = new int[n];
+        localIndex = new int[n];
+        Arrays.fill(localIndex, -1);
+
+        // Tarjan numbers components in reverse topological order.
+        SccResult scc = new IterativeTarjan(graph).findSCCs(null);
+        int k = scc.getComponentCount();
+        int[] offsets = scc.getComponentOffsets();
+        for (int c = 0; c < k; c++) {
+            members[c] = Arrays.copyOfRange(scc.getMembers(), offsets[c], offsets[c + 1]);
+            memberCount[c] = members[c].length;
+            for (int node : members[c]) {
+                componentOf[node] = c;
+            }
+            label[c] = (k - c) * GAP;
+            order.put(label[c], c);
+            successors.set(c, new HashMap<>());
+            predecessors.set(c, new HashMap<>());
+        }
+        componentCount = k;
+        freeIds = new int[n];
+        for (int c = n - 1; c >= k; c--) {
+            freeIds[freeTop++] = c;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int i = 0; i < outSize[u]; i++) {
+                addCrossEdge(componentOf[u], componentOf[out[u][i]]);
+            }
+        }
+    }
+
+    // Returns the number of nodes.
+    public int getN() {
+        return n;
+    }
+
+    // Returns the number of components currently alive.
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    // Returns the current component ID of a node. IDs are stable until the component merges or splits.
+    public int componentOf(int node) {
+        return componentOf[node];
+    }
+
+    // Returns a counter that changes whenever an edge is added or removed.
+    public long getVersion() {
+        return version;
+    }
+
+    // Returns the current component IDs in topological order.
+    public int[] getComponentOrder() {
+        int[] result = new int[componentCount];
+        int i = 0;
+        for (int c : order.values()) {
+            result[i++] = c;
+        }
+        return result;
+    }
+
+    // Returns the current successor components of component c, which must be alive.
+    public Set<Integer> getAdjacentComponents(int c) {
+        checkComponent(c);
+        return Collections.unmodifiableSet(successors.get(c).keySet());
+    }
+
+    // Adds the edge u->v and updates components and order.
+    public void addEdge(int u, int v, Metrics metrics) {
+        addEdges(new int[]{u}, new int[]{v}, metrics);
+    }
+
+    // Adds the edges us[i]->vs[i] in order.
+    public void addEdges(int[] us, int[] vs, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        for (int i = 0; i < us.length; i++) {
+            int u = us[i];
+            int v = vs[i];
+            checkNode(u);
+            checkNode(v);
+            append(out, outSize, u, v);
+            append(in, inSize, v, u);
+            version++;
+            int cu = componentOf[u];
+            int cv = componentOf[v];
+            if (cu != cv && addCrossEdge(cu, cv) && label[cu] > label[cv]) {
+                repairOrder(cu, cv);
+            }
+        }
+        flush(metrics, us.length, 0);
+    }
+
+    // Removes one u->v edge if present; returns whether an edge was removed.
+    public boolean removeEdge(int u, int v, Metrics metrics) {
+        return removeEdges(new int[]{u}, new int[]{v}, metrics) == 1;
+    }
+
+    // Removes one copy of each edge us[i]->vs[i] that is present; returns how many were removed.
+    // Every component that lost an internal edge is re-checked once, after all removals.
+    public int removeEdges(int[] us, int[] vs, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        int removed = 0;
+        int[] dirty = new int[Math.max(1, us.length)];
+        int dirtyCount = 0;
+        stamp++;
+        for (int i = 0; i < us.length; i++) {
+            int u = us[i];
+            int v = vs[i];
+            checkNode(u);
+            checkNode(v);
+            if (!removeFromRow(out, outSize, u, v)) {
+                continue;
+            }
+            removeFromRow(in, inSize, v, u);
+            removed++;
+            version++;
+            int cu = componentOf[u];
+            int cv = componentOf[v];
+            if (cu != cv) {
+                removeCrossEdge(cu, cv);
+            } else if (u != v && forwardMark[cu] != stamp) {
+                forwardMark[cu] = stamp;
+                dirty[dirtyCount++] = cu;
+            }
+        }
+        for (int i = 0; i < dirtyCount; i++) {
+            splitIfDisconnected(dirty[i]);
+        }
+        flush(metrics, 0, removed);
+        return removed;
+    }
+
+    // Builds a CondensationResult of the current state. Components are numbered by their position in
+    // the topological order, so toTopoResult() is the identity order over the same numbering.
+    public CondensationResult toCondensationResult() {
+        int[] position = new int[n];
+        int[] componentOrder = getComponentOrder();
+        for (int p = 0; p < componentOrder.length; p++) {
+            position[componentOrder[p]] = p;
+        }
+        List<List<Integer>> components = new ArrayList<>(componentCount);
+        List<Set<Integer>> adjacent = new ArrayList<>(componentCount);
+        for (int c : componentOrder) {
+            int[] sorted = Arrays.copyOf(members[c], memberCount[c]);
+            Arrays.sort(sorted);
+            List<Integer> component = new ArrayList<>(sorted.length);
+            for (int node : sorted) {
+                component.add(node);
+            }
+            components.add(component);
+            Set<Integer> targets = new HashSet<>();
+            for (int t : successors.get(c).keySet()) {
+                targets.add(position[t]);
+            }
+            adjacent.add(targets);
+        }
+        int[] nodeToComponent = new int[n];
+        for (int node = 0; node < n; node++) {
+            nodeToComponent[node] = position[componentOf[node]];
+        }
+        return new CondensationResult(components, nodeToComponent, adjacent);
+    }
+
+    // Builds the TopoResult matching toCondensationResult().
+    public TopoResult toTopoResult() {
+        List<Integer> componentOrder = new ArrayList<>(componentCount);
+        List<Integer> derivedOrder = new ArrayList<>(n);
+        int p = 0;
+        for (int c : order.values()) {
+            componentOrder.add(p++);
+            int[] sorted = Arrays.copyOf(members[c], memberCount[c]);
+            Arrays.sort(sorted);
+            for (int node : sorted) {
+                derivedOrder.add(node);
+            }
+        }
+        return new TopoResult(componentOrder, derivedOrder);
+    }
+
+    // Records a cross edge; returns true if it is the first edge between the two components.
+    private boolean addCrossEdge(int cu, int cv) {
+        if (cu == cv) {
+            return false;
+        }
+        predecessors.get(cv).merge(cu, 1, Integer::sum);
+        return successors.get(cu).merge(cv, 1, Integer::sum) == 1;
+    }
+
+    // Drops one cross edge; the condensation edge disappears with the last one.
+    private void removeCrossEdge(int cu, int cv) {
+        successors.get(cu).computeIfPresent(cv, (key, count) -> count == 1 ? null : count - 1);
+        predecessors.get(cv).computeIfPresent(cu, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    // Restores the order after adding condensation edge cu->cv where cv currently precedes cu.
+    private void repairOrder(int cu, int cv) {
+        reorders++;
+        long lower = label[cv];
+        long upper = label[cu];
+        stamp++;
+        int forwardCount = search(cv, true, lower, upper);
+        boolean cycle = forwardMark[cu] == stamp;
+        int backwardCount = search(cu, false, lower, upper);
+        affected += forwardCount + backwardCount;
+
+        // Pool of labels held by the affected region, in increasing order.
+        long[] pool = new long[forwardCount + backwardCount];
+        int poolSize = 0;
+        for (int i = 0; i < forwardCount; i++) {
+            pool[poolSize++] = label[forwardSet[i]];
+        }
+        for (int i = 0; i < backwardCount; i++) {
+            if (forwardMark[backwardSet[i]] != stamp) {
+                pool[poolSize++] = label[backwardSet[i]];
+            }
+        }
+        Arrays.sort(pool, 0, poolSize);
+
+        // Components only reached backward go first, then the merged cycle (if any), then the rest.
+        long[] backwardOnly = labelsOf(backwardSet, backwardCount, forwardMark, false);
+        long[] forwardOnly = labelsOf(forwardSet, forwardCount, backwardMark, false);
+        int[] backwardOrder = componentsByLabel(backwardOnly);
+        int[] forwardOrder = componentsByLabel(forwardOnly);
+        int[] cycleMembers = new int[0];
+        if (cycle) {
+            long[] both = labelsOf(forwardSet, forwardCount, backwardMark, true);
+            cycleMembers = componentsByLabel(both);
+        }
+        for (int i = 0; i < poolSize; i++) {
+            order.remove(pool[i]);
+        }
+
+        int next = 0;
+        for (int c : backwardOrder) {
+            setLabel(c, pool[next++]);
+        }
+        if (cycle) {
+            setLabel(merge(cycleMembers), pool[next]);
+        }
+        next = poolSize - forwardOrder.length;
+        for (int c : forwardOrder) {
+            setLabel(c, pool[next++]);
+        }
+    }
+
+    // Collects components reachable from start (forward over successors or backward over predecessors)
+    // whose label lies in [lower, upper]. Marks them with the current stamp; returns how many were found.
+    private int search(int start, boolean forward, long lower, long upper) {
+        int[] mark = forward ? forwardMark : backwardMark;
+        int found = 0;
+        int top = 0;
+        mark[start] = stamp;
+        stack = ensure(stack, 1);
+        stack[top++] = start;
+        while (top > 0) {
+            int c = stack[--top];
+            if (forward) {
+                forwardSet = ensure(forwardSet, found + 1);
+                forwardSet[found++] = c;
+            } else {
+                backwardSet = ensure(backwardSet, found + 1);
+                backwardSet[found++] = c;
+            }
+            Map<Integer, Integer> next = forward ? successors.get(c) : predecessors.get(c);
+            for (int t : next.keySet()) {
+                long l = label[t];
+                if (mark[t] != stamp && l >= lower && l <= upper) {
+                    mark[t] = stamp;
+                    stack = ensure(stack, top + 1);
+                    stack[top++] = t;
+                }
+            }
+        }
+        return found;
+    }
+
+    // Labels of set entries whose other-direction mark equals (inOther) the current stamp.
+    private long[] labelsOf(int[] set, int count, int[] otherMark, boolean inOther) {
+        long[] result = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if ((otherMark[set[i]] == stamp) == inOther) {
+                result[size++] = label[set[i]];
+            }
+        }
+        result = Arrays.copyOf(result, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Maps sorted labels back to their components (must run before the labels are removed).
+    private int[] componentsByLabel(long[] sortedLabels) {
+        int[] result = new int[sortedLabels.length];
+        for (int i = 0; i < sortedLabels.length; i++) {
+            result[i] = order.get(sortedLabels[i]);
+        }
+        return result;
+    }
+
+    private void setLabel(int c, long value) {
+        label[c] = value;
+        order.put(value, c);
+    }
+
+    // Merges the given components into the one with the most members; returns the survivor.
+    private int merge(int[] cycle) {
+        merges += cycle.length - 1;
+        int survivor = cycle[0];
+        for (int c : cycle) {
+            if (memberCount[c] > memberCount[survivor]) {
+                survivor = c;
+            }
+        }
+        stamp++;
+        for (int c : cycle) {
+            forwardMark[c] = stamp; // Reused as "inside the cycle" marker
+        }
+        Map<Integer, Integer> mergedSuccessors = new HashMap<>();
+        Map<Integer, Integer> mergedPredecessors = new HashMap<>();
+        for (int c : cycle) {
+            for (Map.Entry<Integer, Integer> entry : successors.get(c).entrySet()) {
+                int t = entry.getKey();
+                if (forwardMark[t] != stamp) {
+                    mergedSuccessors.merge(t, entry.getValue(), Integer::sum);
+                    predecessors.get(t).remove(c);
+                }
+            }
+            for (Map.Entry<Integer, Integer> entry : predecessors.get(c).entrySet()) {
+                int t = entry.getKey();
+                if (forwardMark[t] != stamp) {
+                    mergedPredecessors.merge(t, entry.getValue(), Integer::sum);
+                    successors.get(t).remove(c);
+                }
+            }
+        }
+        for (Map.Entry<Integer, Integer> entry : mergedSuccessors.entrySet()) {
+            predecessors.get(entry.getKey()).put(survivor, entry.getValue());
+        }
+        for (Map.Entry<Integer, Integer> entry : mergedPredecessors.entrySet()) {
+            successors.get(entry.getKey()).put(survivor, entry.getValue());
+        }
+        successors.set(survivor, mergedSuccessors);
+        predecessors.set(survivor, mergedPredecessors);
+
+        for (int c : cycle) {
+            if (c == survivor) {
+                continue;
+            }
+            for (int i = 0; i < memberCount[c]; i++) {
+                int node = members[c][i];
+                componentOf[node] = survivor;
+                append(members, memberCount, survivor, node);
+            }
+            releaseId(c);
+        }
+        return survivor;
+    }
+
+    // Re-runs Tarjan on component c's induced subgraph and splits c if it fell apart.
+    private void splitIfDisconnected(int c) {
+        int size = memberCount[c];
+        int[] nodes = Arrays.copyOf(members[c], size);
+        for (int i = 0; i < size; i++) {
+            localIndex[nodes[i]] = i;
+        }
+        int[] localOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int u = nodes[i];
+            int degree = 0;
+            for (int j = 0; j < outSize[u]; j++) {
+                if (localIndex[out[u][j]] != -1) {
+                    degree++;
+                }
+            }
+            localOffsets[i + 1] = localOffsets[i] + degree;
+        }
+        int[] localTargets = new int[localOffsets[size]];
+        for (int i = 0; i < size; i++) {
+            int u = nodes[i];
+            int position = localOffsets[i];
+            for (int j = 0; j < outSize[u]; j++) {
+                int local = localIndex[out[u][j]];
+                if (local != -1) {
+                    localTargets[position++] = local;
+                }
+            }
+        }
+        affected++;
+        SccResult parts = new IterativeTarjan(new CsrGraph(size, localOffsets, localTargets,
+                new int[localTargets.length], new int[size])).findSCCs(null);
+        int partCount = parts.getComponentCount();
+        if (partCount == 1) {
+            for (int node : nodes) {
+                localIndex[node] = -1;
+            }
+            return;
+        }
+        splits++;
+
+        // Detach c's cross edges from its neighbors; they are rebuilt per part below.
+        for (int t : successors.get(c).keySet()) {
+            predecessors.get(t).remove(c);
+        }
+        for (int t : predecessors.get(c).keySet()) {
+            successors.get(t).remove(c);
+        }
+        successors.get(c).clear();
+        predecessors.get(c).clear();
+
+        // Tarjan's part IDs are reverse topological; the first part in topological order keeps c.
+        Long nextLabel = order.higherKey(label[c]);
+        long spacing = nextLabel == null ? GAP : (nextLabel - label[c]) / partCount;
+        if (spacing < 1) {
+            relabelAll();
+            nextLabel = order.higherKey(label[c]);
+            spacing = nextLabel == null ? GAP : (nextLabel - label[c]) / partCount;
+        }
+        long base = label[c];
+        int[] partId = new int[partCount];
+        for (int step = 0; step < partCount; step++) {
+            int part = partCount - 1 - step;
+            int id = step == 0 ? c : allocateId();
+            partId[part] = id;
+            if (step > 0) {
+                setLabel(id, base + spacing * step);
+            }
+            int from = parts.getComponentOffsets()[part];
+            int to = parts.getComponentOffsets()[part + 1];
+            members[id] = new int[to - from];
+            memberCount[id] = to - from;
+            for (int i = from; i < to; i++) {
+                int node = nodes[parts.getMembers()[i]];
+                members[id][i - from] = node;
+                componentOf[node] = id;
+            }
+        }
+
+        // Rebuild cross edges touching the former component.
+        for (int u : nodes) {
+            int cu = componentOf[u];
+            for (int j = 0; j < outSize[u]; j++) {
+                addCrossEdge(cu, componentOf[out[u][j]]);
+            }
+            for (int j = 0; j < inSize[u]; j++) {
+                int w = in[u][j];
+                if (localIndex[w] == -1) {
+                    addCrossEdge(componentOf[w], cu);
+                }
+            }
+        }
+        for (int node : nodes) {
+            localIndex[node] = -1;
+        }
+    }
+
+    // Respaces all labels GAP apart, keeping their order.
+    private void relabelAll() {
+        int[] componentOrder = getComponentOrder();
+        order.clear();
+        for (int p = 0; p < componentOrder.length; p++) {
+            setLabel(componentOrder[p], (p + 1) * GAP);
+        }
+    }
+
+    private int allocateId() {
+        int id = freeIds[--freeTop];
+        successors.set(id, new HashMap<>());
+        predecessors.set(id, new HashMap<>());
+        componentCount++;
+        return id;
+    }
+
+    private void releaseId(int c) {
+        members[c] = null;
+        memberCount[c] = 0;
+        successors.set(c, null);
+        predecessors.set(c, null);
+        freeIds[freeTop++] = c;
+        componentCount--;
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= n) {
+            throw new IllegalArgumentException("node out of range: " + node);
+        }
+    }
+
+    private void checkComponent(int c) {
+        if (c < 0 || c >= n || successors.get(c) == null) {
+            throw new IllegalArgumentException("not a live component: " + c);
+        }
+    }
+
+    private void flush(Metrics metrics, int added, int removed) {
+        if (metrics != null) {
+            metrics.incBy("dynamic.edges.added", added);
+            metrics.incBy("dynamic.edges.removed", removed);
+            metrics.incBy("dynamic.merges", merges);
+            metrics.incBy("dynamic.splits", splits);
+            metrics.incBy("dynamic.reorders", reorders);
+            metrics.incBy("dynamic.affected.components", affected);
+            metrics.stopTimer();
+            metrics.putLong("dynamic.update.time.nanos", metrics.getElapsedNanos());
+        }
+        merges = splits = reorders = affected = 0;
+    }
+
+    private static void append(int[][] rows, int[] sizes, int row, int value) {
+        if (rows[row] == null) {
+            rows[row] = new int[4];
+        } else if (sizes[row] == rows[row].length) {
+            rows[row] = Arrays.copyOf(rows[row], Math.max(4, sizes[row] * 2));
+        }
+        rows[row][sizes[row]++] = value;
+    }
+
+    private static boolean removeFromRow(int[][] rows, int[] sizes, int row, int value) {
+        int[] values = rows[row];
+        for (int i = 0; i < sizes[row]; i++) {
+            if (values[i] == value) {
+                values[i] = values[--sizes[row]];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] ensure(int[] array, int size) {
+        return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+}
@@ -0,0 +1,236 @@
+package graph.condensation;
+
+import graph.model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+// Parallel form of the sort-based condensation dedup, used by CondensationBuilder when its
+// parallelism is above 1.
+// Phase 1 splits the node range into chunks of roughly equal edge count; each worker maps the
+// endpoints of its edges through nodeToComponent and appends packed (componentU, componentV) keys with
+// their weights to thread-local buffers, one buffer per source-component partition.
+// Phase 2 gives every partition (a contiguous range of source components) to one worker, which
+// concatenates its buffers in chunk order, radix-sorts them, folds equal keys into min/max weights
+// and sums the member durations of its components.
+// Phase 3 prefix-sums the row lengths and copies every partition's rows into place in parallel.
+// Rows come out sorted and unique, so the result is deterministic and identical to the sequential build.
+final class ParallelCondensation {
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final CsrGraph graph;
+    private final int[] nodeToComponent;
+    private final int[] memberOffsets;
+    private final int[] members;
+    private final int parallelism;
+    private final int k;
+
+    ParallelCondensation(CsrGraph graph, int[] nodeToComponent, int[] memberOffsets, int[] members, int parallelism) {
+        this.graph = graph;
+        this.nodeToComponent = nodeToComponent;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+        this.parallelism = parallelism;
+        this.k = memberOffsets.length - 1;
+    }
+
+    CondensationBuilder.Condensed run() {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(this::build).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private CondensationBuilder.Condensed build() {
+        int n = graph.getN();
+        int[] offsets = graph.getOffsets();
+        int m = graph.getEdgeCount();
+        int partitions = Math.max(1, Math.min(parallelism, k));
+        int chunks = Math.max(1, Math.min(parallelism * CHUNKS_PER_WORKER, n));
+
+        // Chunk c covers nodes [chunkStart[c], chunkStart[c + 1]) holding about m / chunks edges.
+        int[] chunkStart = new int[chunks + 1];
+        for (int c = 1; c < chunks; c++) {
+            long targetEdges = (long) m * c / chunks;
+            int node = Arrays.binarySearch(offsets, 0, n + 1, (int) targetEdges);
+            node = node >= 0 ? node : -node - 1;
+            chunkStart[c] = Math.max(chunkStart[c - 1], Math.min(node, n));
+        }
+        chunkStart[chunks] = n;
+
+        // Phase 1: thread-local buffers per (chunk, partition).
+        KeyBuffer[][] buffers = new KeyBuffer[chunks][partitions];
+        long[] processed = new long[chunks];
+        forEach(chunks, c -> {
+            KeyBuffer[] local = buffers[c];
+            for (int p = 0; p < partitions; p++) {
+                local[p] = new KeyBuffer();
+            }
+            processed[c] = emit(chunkStart[c], chunkStart[c + 1], partitions, local);
+        });
+
+        // Phase 2: sort and fold every partition.
+        CondensationBuilder.Condensed result = new CondensationBuilder.Condensed(k, 0);
+        Partition[] rows = new Partition[partitions];
+        forEach(partitions, p -> rows[p] = fold(p, partitions, buffers, result));
+
+        // Phase 3: row offsets, then parallel placement.
+        for (int component = 0; component < k; component++) {
+            result.offsets[component + 1] += result.offsets[component];
+        }
+        int edgeCount = result.offsets[k];
+        result.targets = new int[edgeCount];
+        result.minWeights = new int[edgeCount];
+        result.maxWeights = new int[edgeCount];
+        forEach(partitions, p -> {
+            Partition partition = rows[p];
+            int at = result.offsets[partitionStart(p, partitions)];
+            System.arraycopy(partition.targets, 0, result.targets, at, partition.size);
+            System.arraycopy(partition.minWeights, 0, result.minWeights, at, partition.size);
+            System.arraycopy(partition.maxWeights, 0, result.maxWeights, at, partition.size);
+        });
+        for (long count : processed) {
+            result.processedEdges += count;
+        }
+        return result;
+    }
+
+    // Emits the cross edges of nodes [from, to) into the chunk's partition buffers; returns edges scanned.
+    private long emit(int from, int to, int partitions, KeyBuffer[] local) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        long scanned = 0L;
+        for (int u = from; u < to; u++) {
+            int componentU = nodeToComponent[u];
+            if (componentU == -1) {
+                continue; // Skip unmapped nodes
+            }
+            KeyBuffer buffer = local[partitionOf(componentU, partitions)];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                scanned++;
+                int componentV = nodeToComponent[targets[e]];
+                if (componentV == -1 || componentV == componentU) {
+                    continue;
+                }
+                buffer.add((long) componentU * k + componentV, weights[e]);
+            }
+        }
+        return scanned;
+    }
+
+    // Sorts and folds the keys of partition p; writes row lengths and component weights into result.
+    private Partition fold(int p, int partitions, KeyBuffer[][] buffers, CondensationBuilder.Condensed result) {
+        int first = partitionStart(p, partitions);
+        int last = partitionStart(p + 1, partitions);
+
+        int total = 0;
+        for (KeyBuffer[] chunk : buffers) {
+            total += chunk[p].size;
+        }
+        long[] keys = new long[total];
+        int[] keyWeights = new int[total];
+        int count = 0;
+        for (KeyBuffer[] chunk : buffers) {
+            KeyBuffer buffer = chunk[p];
+            System.arraycopy(buffer.keys, 0, keys, count, buffer.size);
+            System.arraycopy(buffer.values, 0, keyWeights, count, buffer.size);
+            count += buffer.size;
+        }
+        // Keys are relative to the partition's first row, which keeps the radix passes short.
+        long base = (long) first * k;
+        for (int i = 0; i < count; i++) {
+            keys[i] -= base;
+        }
+        long span = Math.max(1L, (long) (last - first) * k - 1);
+        CondensationBuilder.radixSort(keys, keyWeights, count, 64 - Long.numberOfLeadingZeros(span));
+
+        Partition partition = new Partition(count);
+        for (int i = 0; i < count; ) {
+            long key = keys[i];
+            int min = keyWeights[i];
+            int max = keyWeights[i];
+            for (i++; i < count && keys[i] == key; i++) {
+                min = Math.min(min, keyWeights[i]);
+                max = Math.max(max, keyWeights[i]);
+            }
+            result.offsets[first + (int) (key / k) + 1]++;
+            partition.targets[partition.size] = (int) (key % k);
+            partition.minWeights[partition.size] = min;
+            partition.maxWeights[partition.size] = max;
+            partition.size++;
+        }
+
+        int[] durations = graph.getDurations();
+        int n = graph.getN();
+        for (int component = first; component < last; component++) {
+            for (int i = memberOffsets[component]; i < memberOffsets[component + 1]; i++) {
+                int node = members[i];
+                if (node >= 0 && node < n && nodeToComponent[node] == component) {
+                    result.componentWeights[component] += durations[node];
+                }
+            }
+        }
+        return partition;
+    }
+
+    // Partition p owns source components [partitionStart(p), partitionStart(p + 1)).
+    private int partitionStart(int p, int partitions) {
+        return (int) (((long) p * k + partitions - 1) / partitions);
+    }
+
+    private int partitionOf(int component, int partitions) {
+        return (int) ((long) component * partitions / k);
+    }
+
+    // Runs body for every index in [0, count) as separate ForkJoin tasks.
+    private static void forEach(int count, IntConsumer body) {
+        RecursiveAction[] tasks = new RecursiveAction[count];
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks[i] = new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    body.accept(index);
+                }
+            };
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    // Growable packed-key buffer with one int payload per key, owned by a single worker.
+    private static final class KeyBuffer {
+        long[] keys = new long[16];
+        int[] values = new int[16];
+        int size;
+
+        void add(long key, int value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+    }
+
+    // Deduplicated rows of one partition before placement.
+    private static final class Partition {
+        final int[] targets;
+        final int[] minWeights;
+        final int[] maxWeights;
+        int size;
+
+        Partition(int capacity) {
+            targets = new int[capacity];
+            minWeights = new int[capacity];
+            maxWeights = new int[capacity];
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package graph.condensation;
+
+import graph.model.CsrGraph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Answers "does node A reach node B" on the condensation DAG without running a path search.
+// Queries map both nodes through nodeToComponent and then apply, cheapest first:
+//   1. same component: true;
+//   2. topological position: a component never reaches one placed before it;
+//   3. if the full transitive closure fits in the memory budget (k * k / 8 bytes) and in one Java array:
+//      one bit lookup in the closure row of u, over topological positions, built in reverse order as
+//      R(u) = union over successors w of ({w} + R(w));
+//   4. otherwise GRAIL interval labels: `traversals` randomized post-order DFS numberings give each
+//      component an interval [low, rank] that contains the intervals of everything it reaches. If any
+//      label of v is not inside the label of u the answer is false; otherwise a DFS from u answers,
+//      pruned by position and by the same labels, so it rarely leaves the true descendants.
+// Build time and index memory are reported as reach.build.nanos and reach.memory.bytes.
+// Queries are read-only except for the per-thread DFS workspace, so an index can be shared by threads.
+public class ReachabilityIndex {
+    private static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+    private static final int DEFAULT_TRAVERSALS = 3;
+    // Largest array length the JVM reliably allocates; keeps every int index into the arrays exact.
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int k;
+    private final int[] nodeToComponent;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] position;
+    private final int words; // Closure words per row, 0 without closure
+    private final long[] closure;
+    private final int traversals;
+    private final int[] low; // low[t * k + c], GRAIL label t of component c
+    private final int[] rank;
+    private final long memoryBytes;
+    private final ThreadLocal<Workspace> workspace;
+
+    // Builds the index with the default memory budget (64 MiB) for the closure.
+    public ReachabilityIndex(CondensationResult condensationResult, TopoResult topo, Metrics metrics) {
+        this(condensationResult, topo, DEFAULT_MEMORY_BYTES, DEFAULT_TRAVERSALS, metrics);
+    }
+
+    // Builds the index; the closure is used if it fits in memoryBytes, else `traversals` GRAIL labels.
+    public ReachabilityIndex(CondensationResult condensationResult, TopoResult topo, long memoryBytes,
+                             int traversals, Metrics metrics) {
+        if (traversals < 1) {
+            throw new IllegalArgumentException("traversals must be at least 1");
+        }
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        CsrGraph dag = condensationResult.getComponentGraph();
+        this.k = dag.getN();
+        this.nodeToComponent = condensationResult.getNodeToComponent();
+        this.offsets = dag.getOffsets();
+        this.targets = dag.getTargets();
+        int[] componentOrder = topo.getComponentOrderArray();
+        this.position = new int[k];
+        for (int p = 0; p < k; p++) {
+            position[componentOrder[p]] = p;
+        }
+
+        int rowWords = (k + 63) >>> 6;
+        long closureBytes = (long) k * rowWords * 8;
+        long bytes = (long) k * 4;
+        if (closureBytes <= memoryBytes && (long) k * rowWords <= MAX_ARRAY_LENGTH) {
+            this.words = rowWords;
+            this.closure = buildClosure(componentOrder);
+            this.traversals = 0;
+            this.low = null;
+            this.rank = null;
+            this.workspace = null;
+            bytes += closureBytes;
+        } else {
+            if ((long) traversals * k > MAX_ARRAY_LENGTH) {
+                throw new IllegalArgumentException("too many traversals for " + k + " components");
+            }
+            this.words = 0;
+            this.closure = null;
+            this.traversals = traversals;
+            this.low = new int[traversals * k];
+            this.rank = new int[traversals * k];
+            buildLabels();
+            this.workspace = ThreadLocal.withInitial(() -> new Workspace(k));
+            bytes += 2L * traversals * k * 4;
+        }
+        this.memoryBytes = bytes;
+
+        if (metrics != null) {
+            metrics.putLong("reach.memory.bytes", bytes);
+            metrics.putLong("reach.closure", closure != null ? 1 : 0);
+            metrics.stopTimer();
+            metrics.putLong("reach.build.nanos", metrics.getElapsedNanos());
+        }
+    }
+
+    // Returns true if toNode is reachable from fromNode (every node reaches itself).
+    public boolean reaches(int fromNode, int toNode) {
+        return componentReaches(nodeToComponent[fromNode], nodeToComponent[toNode]);
+    }
+
+    // Returns true if component v is reachable from component u (every component reaches itself).
+    public boolean componentReaches(int u, int v) {
+        if (u == v) {
+            return true;
+        }
+        int pv = position[v];
+        if (position[u] > pv) {
+            return false;
+        }
+        if (closure != null) {
+            return (closure[position[u] * words + (pv >>> 6)] & (1L << pv)) != 0;
+        }
+        if (!contains(u, v)) {
+            return false;
+        }
+        return search(u, v);
+    }
+
+    // Returns true if the full transitive closure is used.
+    public boolean isClosure() {
+        return closure != null;
+    }
+
+    // Returns the memory held by the index arrays, in bytes.
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    // Closure rows over topological positions, filled in reverse order.
+    private long[] buildClosure(int[] componentOrder) {
+        long[] rows = new long[k * words];
+        for (int p = k - 1; p >= 0; p--) {
+            int u = componentOrder[p];
+            int row = p * words;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int q = position[targets[e]];
+                rows[row + (q >>> 6)] |= 1L << q;
+                int other = q * words;
+                // Row q only has bits at positions after q.
+                for (int w = q >>> 6; w < words; w++) {
+                    rows[row + w] |= rows[other + w];
+                }
+            }
+        }
+        return rows;
+    }
+
+    // One post-order DFS per traversal, with roots and children visited from a random rotation and
+    // direction. rank is the post-order number, low the smallest rank in the subtree and below.
+    private void buildLabels() {
+        Random random = new Random(k);
+        int[] indegree = new int[k];
+        for (int e = 0; e < offsets[k]; e++) {
+            indegree[targets[e]]++;
+        }
+        int[] stack = new int[k];
+        int[] cursor = new int[k];
+        int[] rotation = new int[k];
+        boolean[] visited = new boolean[k];
+        for (int t = 0; t < traversals; t++) {
+            Arrays.fill(visited, false);
+            boolean reverse = t % 2 == 1;
+            int base = t * k;
+            int next = 0;
+            int rootStart = k == 0 ? 0 : random.nextInt(k);
+            for (int i = 0; i < k; i++) {
+                int root = (rootStart + (reverse ? k - i : i)) % k;
+                if (indegree[root] != 0 || visited[root]) {
+                    continue;
+                }
+                int top = 0;
+                stack[top++] = root;
+                visited[root] = true;
+                cursor[root] = 0;
+                rotation[root] = random.nextInt(Math.max(1, offsets[root + 1] - offsets[root]));
+                low[base + root] = Integer.MAX_VALUE;
+                while (top > 0) {
+                    int u = stack[top - 1];
+                    int degree = offsets[u + 1] - offsets[u];
+                    if (cursor[u] < degree) {
+                        int slot = (rotation[u] + cursor[u]++) % degree;
+                        int w = targets[offsets[u] + (reverse ? degree - 1 - slot : slot)];
+                        if (!visited[w]) {
+                            visited[w] = true;
+                            cursor[w] = 0;
+                            rotation[w] = random.nextInt(Math.max(1, offsets[w + 1] - offsets[w]));
+                            low[base + w] = Integer.MAX_VALUE;
+                            stack[top++] = w;
+                        } else {
+                            low[base + u] = Math.min(low[base + u], low[base + w]);
+                        }
+                        continue;
+                    }
+                    top--;
+                    rank[base + u] = next++;
+                    low[base + u] = Math.min(low[base + u], rank[base + u]);
+                    if (top > 0) {
+                        int parent = stack[top - 1];
+                        low[base + parent] = Math.min(low[base + parent], low[base + u]);
+                    }
+                }
+            }
+        }
+    }
+
+    // True if every label of v lies inside the matching label of u (necessary for u to reach v).
+    private boolean contains(int u, int v) {
+        for (int base = 0; base < traversals * k; base += k) {
+            if (low[base + v] < low[base + u] || rank[base + v] > rank[base + u]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // DFS from u for v, pruned by position and labels.
+    private boolean search(int u, int v) {
+        Workspace ws = workspace.get();
+        int stamp = ws.nextStamp();
+        int pv = position[v];
+        int top = 0;
+        ws.stack[top++] = u;
+        ws.visited[u] = stamp;
+        while (top > 0) {
+            int c = ws.stack[--top];
+            for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                int w = targets[e];
+                if (w == v) {
+                    return true;
+                }
+                if (ws.visited[w] == stamp || position[w] > pv || !contains(w, v)) {
+                    continue;
+                }
+                ws.visited[w] = stamp;
+                ws.stack[top++] = w;
+            }
+        }
+        return false;
+    }
+
+    // Per-thread DFS scratch; visited marks are stamps, so nothing is cleared between queries.
+    private static final class Workspace {
+        final int[] visited;
+        final int[] stack;
+        int stamp;
+
+        Workspace(int k) {
+            visited = new int[k];
+            stack = new int[k];
+        }
+
+        int nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+}
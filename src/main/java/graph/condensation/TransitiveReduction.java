@@ -0,0 +1,149 @@
+package graph.condensation;
+
+import graph.model.CsrGraph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Transitive reduction of the condensation DAG: drops every edge u->v for which v is also reachable
+// through another successor of u. Paths that used a removed edge no longer exist; only reachability is
+// preserved, and with it the node-weighted longest path length when durations are non-negative (the
+// longer detour through the other successor is still there). Shortest paths, edge-weighted paths and
+// path counts are NOT preserved.
+//
+// Components are numbered by topological position, and reachability is kept as bitsets over those
+// positions. To bound memory the positions are processed in chunks of at most `chunkBits` targets:
+// per chunk every node holds chunkBits / 64 words, filled in reverse topological order as
+// R(u) = union over successors w of ({w} + R(w)). Successors of u are visited in increasing position,
+// so an edge u->v is redundant exactly when v is already in the union built from the earlier ones.
+// Time is O(m * k / 64) word operations overall, memory O(k * chunkBits / 64) words.
+public class TransitiveReduction {
+    private static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+
+    private final long memoryBytes;
+
+    // Initializes the reduction with the default bitset memory budget (64 MiB).
+    public TransitiveReduction() {
+        this(DEFAULT_MEMORY_BYTES);
+    }
+
+    // Initializes the reduction with the given bitset memory budget in bytes.
+    public TransitiveReduction(long memoryBytes) {
+        if (memoryBytes < 8) {
+            throw new IllegalArgumentException("memory budget must be at least one word");
+        }
+        this.memoryBytes = memoryBytes;
+    }
+
+    // Returns a CondensationResult with the same components and the reduced component graph.
+    // Edge weight arrays are filtered along with the edges; component weights are shared.
+    public CondensationResult reduce(CondensationResult condensationResult, TopoResult topo, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int k = dag.getN();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int m = offsets[k];
+
+        // Topological position per component, and the node at every position.
+        List<Integer> componentOrder = topo.getComponentOrder();
+        int[] position = new int[k];
+        int[] atPosition = new int[k];
+        for (int p = 0; p < k; p++) {
+            atPosition[p] = componentOrder.get(p);
+            position[atPosition[p]] = p;
+        }
+
+        // Edge indices of each row sorted by the target's position.
+        long[] byPosition = new long[m];
+        for (int u = 0; u < k; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                byPosition[e] = ((long) position[targets[e]] << 32) | e;
+            }
+            Arrays.sort(byPosition, offsets[u], offsets[u + 1]);
+        }
+
+        long words = Math.max(1L, memoryBytes / 8 / Math.max(1, k));
+        int chunkWords = (int) Math.min(words, (k + 63L) >>> 6);
+        int chunkBits = chunkWords << 6;
+        long[] reach = new long[Math.max(1, k) * chunkWords]; // Row per position, chunk-relative bits
+        boolean[] redundant = new boolean[m];
+        int chunks = 0;
+
+        for (int low = 0; low < k; low += chunkBits) {
+            chunks++;
+            int high = Math.min(k, low + chunkBits);
+            // Nodes at positions >= high cannot reach this chunk.
+            for (int p = high - 1; p >= 0; p--) {
+                int u = atPosition[p];
+                int row = p * chunkWords;
+                Arrays.fill(reach, row, row + chunkWords, 0L);
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int q = (int) (byPosition[i] >>> 32);
+                    if (q >= high) {
+                        break; // Later successors only reach later chunks
+                    }
+                    if (q >= low) {
+                        int bit = q - low;
+                        long mask = 1L << bit;
+                        if ((reach[row + (bit >>> 6)] & mask) != 0) {
+                            redundant[(int) byPosition[i]] = true;
+                        }
+                        reach[row + (bit >>> 6)] |= mask;
+                    }
+                    int from = q * chunkWords;
+                    for (int w = 0; w < chunkWords; w++) {
+                        reach[row + w] |= reach[from + w];
+                    }
+                }
+            }
+        }
+
+        // Rebuild the component graph from the kept edges; rows stay sorted by target.
+        int[] reducedOffsets = new int[k + 1];
+        int kept = 0;
+        for (int u = 0; u < k; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (!redundant[e]) {
+                    kept++;
+                }
+            }
+            reducedOffsets[u + 1] = kept;
+        }
+        int[] reducedTargets = new int[kept];
+        int[] reducedWeights = new int[kept];
+        int[] minWeights = condensationResult.hasWeights() ? new int[kept] : null;
+        int[] maxWeights = condensationResult.hasWeights() ? new int[kept] : null;
+        int at = 0;
+        for (int e = 0; e < m; e++) {
+            if (redundant[e]) {
+                continue;
+            }
+            reducedTargets[at] = targets[e];
+            reducedWeights[at] = dag.getWeights()[e];
+            if (minWeights != null) {
+                minWeights[at] = condensationResult.getMinEdgeWeights()[e];
+                maxWeights[at] = condensationResult.getMaxEdgeWeights()[e];
+            }
+            at++;
+        }
+        CsrGraph reduced = new CsrGraph(k, reducedOffsets, reducedTargets, reducedWeights, new int[k]);
+
+        if (metrics != null) {
+            metrics.incBy("reduction.edges.removed", m - kept);
+            metrics.incBy("reduction.edges.kept", kept);
+            metrics.incBy("reduction.chunks", chunks);
+            metrics.putLong("reduction.memory.bytes", 8L * reach.length + 8L * m + m);
+            metrics.stopTimer();
+            metrics.putLong("reduction.time.nanos", metrics.getElapsedNanos());
+        }
+
+        return new CondensationResult(condensationResult.getComponents(), condensationResult.getNodeToComponent(),
+                reduced, condensationResult.getComponentWeights(), minWeights, maxWeights);
+    }
+}
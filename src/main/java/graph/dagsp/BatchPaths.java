@@ -0,0 +1,231 @@
+package graph.dagsp;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// Shortest or longest path distances from many sources over the same condensation DAG.
+// Sources are processed in blocks of blockSize (8..64). Within a block the distances are interleaved
+// as dist[component * lanes + lane], so relaxing one condensation edge touches one contiguous run of
+// longs for all sources of the block, and each CSR row and weight is loaded once per block instead of
+// once per source. Component and edge weights are resolved once for the whole batch. Blocks are
+// independent and run in parallel when parallelism is above 1.
+// Distances equal those of ShortestPaths / LongestPath for the same source (INF = Long.MAX_VALUE / 4,
+// NEG_INF = Long.MIN_VALUE / 4 for unreachable components); parent arrays are not produced.
+public class BatchPaths {
+    public static final int DEFAULT_BLOCK_SIZE = 32;
+    private static final long INF = Long.MAX_VALUE / 4;
+    private static final long NEG_INF = Long.MIN_VALUE / 4;
+
+    private final int blockSize;
+    private final int parallelism;
+
+    // Initializes with the default block size, single-threaded.
+    public BatchPaths() {
+        this(DEFAULT_BLOCK_SIZE, 1);
+    }
+
+    // Initializes with the given block size (8..64) and parallelism level.
+    public BatchPaths(int blockSize, int parallelism) {
+        if (blockSize < 8 || blockSize > 64) {
+            throw new IllegalArgumentException("blockSize must be between 8 and 64");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.blockSize = blockSize;
+        this.parallelism = parallelism;
+    }
+
+    // Returns shortest distances per component for each source node: result[i] belongs to sourceNodes[i].
+    public long[][] shortestDistances(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                      int[] sourceNodes, String weightModel, Metrics metrics) {
+        return run(condensationResult, graph, topo, sourceNodes, "node".equalsIgnoreCase(weightModel), false, metrics);
+    }
+
+    // Returns longest distances per component for each source node: result[i] belongs to sourceNodes[i].
+    public long[][] longestDistances(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                     int[] sourceNodes, String weightModel, Metrics metrics) {
+        return run(condensationResult, graph, topo, sourceNodes, "node".equals(weightModel), true, metrics);
+    }
+
+    private long[][] run(CondensationResult condensationResult, Graph graph, TopoResult topo, int[] sourceNodes,
+                         boolean nodeModel, boolean longest, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        int k = condensationResult.getComponentCount();
+        int[] nodeToComponent = condensationResult.getNodeToComponent();
+        int[] sourceComponents = new int[sourceNodes.length];
+        for (int i = 0; i < sourceNodes.length; i++) {
+            int source = sourceNodes[i];
+            if (source < 0 || source >= graph.getN()) {
+                throw new IllegalArgumentException("sourceNode must be a positive integer");
+            }
+            sourceComponents[i] = nodeToComponent[source];
+            if (sourceComponents[i] < 0 || sourceComponents[i] >= k) {
+                throw new IllegalArgumentException("Invalid source node/component");
+            }
+        }
+
+        CsrGraph csr = graph.getCsr();
+        Shared shared = new Shared(condensationResult, topo,
+                ComponentUtils.buildComponentWeight(condensationResult, csr),
+                ComponentUtils.buildComponentEdgeWeights(condensationResult, csr), nodeModel, longest);
+
+        long[][] result = new long[sourceNodes.length][];
+        int blocks = (sourceNodes.length + blockSize - 1) / blockSize;
+        long[] relaxations = new long[blocks];
+        Block[] tasks = new Block[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int from = b * blockSize;
+            int to = Math.min(sourceNodes.length, from + blockSize);
+            tasks[b] = new Block(shared, sourceComponents, from, to, result, relaxations, b);
+        }
+        if (parallelism > 1 && blocks > 1) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            for (Block task : tasks) {
+                task.compute();
+            }
+        }
+
+        if (metrics != null) {
+            long total = 0L;
+            for (long count : relaxations) {
+                total += count;
+            }
+            metrics.incBy("dag.batch.sources", sourceNodes.length);
+            metrics.incBy("dag.batch.blocks", blocks);
+            metrics.incBy("dag.batch.relaxations", total);
+            metrics.stopTimer();
+            metrics.putLong("dag.batch.time.nanos", metrics.getElapsedNanos());
+        }
+        return result;
+    }
+
+    // Read-only inputs shared by all blocks.
+    private static final class Shared {
+        final int k;
+        final int[] offsets;
+        final int[] targets;
+        final int[] order;
+        final int[] position;
+        final long[] componentWeight;
+        final int[] edgeWeight;
+        final boolean nodeModel;
+        final boolean longest;
+
+        Shared(CondensationResult condensationResult, TopoResult topo, long[] componentWeight, int[] edgeWeight,
+               boolean nodeModel, boolean longest) {
+            CsrGraph dag = condensationResult.getComponentGraph();
+            this.k = dag.getN();
+            this.offsets = dag.getOffsets();
+            this.targets = dag.getTargets();
+            this.order = topo.getComponentOrderArray();
+            this.position = new int[k];
+            for (int p = 0; p < k; p++) {
+                position[order[p]] = p;
+            }
+            this.componentWeight = componentWeight;
+            this.edgeWeight = edgeWeight;
+            this.nodeModel = nodeModel;
+            this.longest = longest;
+        }
+    }
+
+    // One block of sources [from, to), relaxed together in one topological sweep.
+    private static final class Block extends RecursiveAction {
+        private final Shared shared;
+        private final int[] sourceComponents;
+        private final int from;
+        private final int to;
+        private final long[][] result;
+        private final long[] relaxations;
+        private final int index;
+
+        Block(Shared shared, int[] sourceComponents, int from, int to, long[][] result, long[] relaxations, int index) {
+            this.shared = shared;
+            this.sourceComponents = sourceComponents;
+            this.from = from;
+            this.to = to;
+            this.result = result;
+            this.relaxations = relaxations;
+            this.index = index;
+        }
+
+        @Override
+        protected void compute() {
+            Shared s = shared;
+            int k = s.k;
+            int lanes = to - from;
+            long unreached = s.longest ? NEG_INF : INF;
+            long[] dist = new long[k * lanes];
+            Arrays.fill(dist, unreached);
+
+            // Sweep from the earliest source of the block; nothing before it is reachable.
+            int start = k;
+            for (int lane = 0; lane < lanes; lane++) {
+                int component = sourceComponents[from + lane];
+                dist[component * lanes + lane] = s.nodeModel ? s.componentWeight[component] : 0L;
+                start = Math.min(start, s.position[component]);
+            }
+
+            long relaxed = 0L;
+            for (int p = start; p < k; p++) {
+                int u = s.order[p];
+                int base = u * lanes;
+                boolean reached = false;
+                for (int lane = 0; lane < lanes && !reached; lane++) {
+                    reached = dist[base + lane] != unreached;
+                }
+                if (!reached) {
+                    continue; // Unreachable from every source of the block
+                }
+                for (int e = s.offsets[u]; e < s.offsets[u + 1]; e++) {
+                    int v = s.targets[e];
+                    long weight = s.nodeModel ? s.componentWeight[v] : s.edgeWeight[e];
+                    int target = v * lanes;
+                    relaxed += lanes;
+                    if (s.longest) {
+                        for (int lane = 0; lane < lanes; lane++) {
+                            long d = dist[base + lane];
+                            if (d != NEG_INF && d + weight > dist[target + lane]) {
+                                dist[target + lane] = d + weight;
+                            }
+                        }
+                    } else {
+                        for (int lane = 0; lane < lanes; lane++) {
+                            long d = dist[base + lane];
+                            if (d != INF && d + weight < dist[target + lane]) {
+                                dist[target + lane] = d + weight;
+                            }
+                        }
+                    }
+                }
+            }
+
+            // Transpose the block into one compact array per source.
+            for (int lane = 0; lane < lanes; lane++) {
+                long[] distances = new long[k];
+                for (int c = 0; c < k; c++) {
+                    distances[c] = dist[c * lanes + lane];
+                }
+                result[from + lane] = distances;
+            }
+            relaxations[index] = relaxed;
+        }
+    }
+}
@@ -1,61 +1,96 @@
 package graph.dagsp;
 
 import graph.condensation.CondensationResult;
-import graph.model.Edge;
+import graph.model.CsrGraph;
 import graph.model.Graph;
-import graph.model.Node;
 
 import java.util.*;
+import java.util.function.IntBinaryOperator;
 
 // Utility methods for calculating weights and reconstructing paths on the condensation graph.
 public class ComponentUtils {
     // Calculates the total weight for each component.
     public static long[] buildComponentWeight(CondensationResult condensationResult, Graph graph) {
-        List<List<Integer>> components = condensationResult.getComponents();
-        int k = components.size();
-        long[] componentWeights = new long[k];
+        return buildComponentWeight(condensationResult, graph.getCsr());
+    }
 
-        // Map original node ID to its duration.
-        Map<Integer, Integer> nodeDuration = new HashMap<>();
-        for (Node node : graph.getNodes()) {
-            nodeDuration.put(node.getId(), node.getDuration() == null ? 0 : node.getDuration());
+    // Calculates the total weight for each component from the CSR node durations.
+    // Reuses the weights of the fused condensation pass when present; the returned array must not be modified.
+    public static long[] buildComponentWeight(CondensationResult condensationResult, CsrGraph graph) {
+        if (condensationResult.hasWeights()) {
+            return condensationResult.getComponentWeights();
         }
+        int[] durations = graph.getDurations();
+        int n = graph.getN();
+        int[] nodeToComponent = condensationResult.getNodeToComponent();
+        long[] componentWeights = new long[condensationResult.getComponentCount()];
 
         // Sum up node durations within each component.
-        for (int i = 0; i < k; i++) {
-            long sum = 0L;
-            for (int nodeId : components.get(i)) {
-                sum += nodeDuration.getOrDefault(nodeId, 0);
+        for (int node = 0; node < n; node++) {
+            int component = nodeToComponent[node];
+            if (component >= 0) {
+                componentWeights[component] += durations[node];
             }
-            componentWeights[i] = sum;
         }
         return componentWeights;
     }
 
-    // Calculates the minimum edge weight between any two nodes across different components.
-    public static List<Map<Integer,Integer>> buildComponentEdgeWeight(CondensationResult condensationResult, Graph graph) {
-        int k = condensationResult.getComponentCount();
-        List<Map<Integer,Integer>> map = new ArrayList<>(k);
-        for (int i = 0; i < k; i++) map.add(new HashMap<>());
+    // Calculates the minimum original edge weight for every edge of condensationResult.getComponentGraph().
+    // The result is aligned with the component graph's targets array, so no boxing or hashing is needed.
+    // Reuses the weights of the fused condensation pass when present; the returned array must not be modified.
+    public static int[] buildComponentEdgeWeights(CondensationResult condensationResult, CsrGraph graph) {
+        if (condensationResult.hasWeights()) {
+            return condensationResult.getMinEdgeWeights();
+        }
+        return foldComponentEdgeWeights(condensationResult, graph, Integer.MAX_VALUE, Integer::min);
+    }
+
+    // Calculates the maximum original edge weight for every edge of condensationResult.getComponentGraph(),
+    // aligned like buildComponentEdgeWeights. Reuses the fused condensation pass when present.
+    public static int[] buildComponentMaxEdgeWeights(CondensationResult condensationResult, CsrGraph graph) {
+        if (condensationResult.hasWeights()) {
+            return condensationResult.getMaxEdgeWeights();
+        }
+        return foldComponentEdgeWeights(condensationResult, graph, Integer.MIN_VALUE, Integer::max);
+    }
+
+    // Folds the original edge weights between every pair of adjacent components into the slot of their
+    // component graph edge, starting from identity; slots that stay at identity get 0.
+    private static int[] foldComponentEdgeWeights(CondensationResult condensationResult, CsrGraph graph,
+                                                  int identity, IntBinaryOperator fold) {
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] dagOffsets = dag.getOffsets();
+        int[] dagTargets = dag.getTargets();
+        int[] folded = new int[dag.getEdgeCount()];
+        Arrays.fill(folded, identity);
 
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
         int[] nodeToComponent = condensationResult.getNodeToComponent();
-        for (Edge edge : graph.getEdges()) {
-            int u = edge.getU(), v = edge.getV();
-            if (u < 0 || v < 0 || u >= graph.getN() || v >= graph.getN()){
+        for (int u = 0; u < graph.getN(); u++) {
+            int componentU = nodeToComponent[u];
+            if (componentU == -1) {
                 continue;
             }
-
-            int componentU = nodeToComponent[u], componentV = nodeToComponent[v];
-            // Only consider edges between different components.
-            if (componentU == -1 || componentV == -1 || componentU == componentV){
-                continue;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int componentV = nodeToComponent[targets[e]];
+                if (componentV == -1 || componentU == componentV) {
+                    continue;
+                }
+                // Rows of the component graph are sorted, so the edge slot is found by binary search.
+                int slot = Arrays.binarySearch(dagTargets, dagOffsets[componentU], dagOffsets[componentU + 1], componentV);
+                if (slot >= 0) {
+                    folded[slot] = fold.applyAsInt(folded[slot], weights[e]);
+                }
+            }
+        }
+        for (int slot = 0; slot < folded.length; slot++) {
+            if (folded[slot] == identity) {
+                folded[slot] = 0;
             }
-
-            int w = edge.getWeight() == null ? 0 : edge.getWeight();
-            // Use Integer::min to store the smallest weight found between the two components.
-            map.get(componentU).merge(componentV, w, Integer::min);
         }
-        return map;
+        return folded;
     }
 
     // Reconstructs the path of components from sourceComponent to targetComponent using the parent array.
@@ -0,0 +1,52 @@
+package graph.dagsp;
+
+// Stores the Critical Path Method schedule. Per-node arrays are indexed by original node ID; nodes of
+// one SCC share their component's values, since a cyclic group can only be scheduled as one unit.
+public class CpmResult {
+    public final long projectDuration; // Largest earliest finish over all components
+    public final long[] earliestStart;
+    public final long[] earliestFinish;
+    public final long[] latestStart;
+    public final long[] latestFinish;
+    public final long[] totalSlack; // latestStart - earliestStart
+    public final long[] freeSlack; // Delay possible without delaying any successor's earliest start
+    public final long[] componentEarliestStart; // Same values per component ID
+    public final long[] componentLatestStart;
+
+    // Constructor to initialize results.
+    public CpmResult(long projectDuration, long[] earliestStart, long[] earliestFinish, long[] latestStart,
+                     long[] latestFinish, long[] totalSlack, long[] freeSlack, long[] componentEarliestStart,
+                     long[] componentLatestStart) {
+        this.projectDuration = projectDuration;
+        this.earliestStart = earliestStart;
+        this.earliestFinish = earliestFinish;
+        this.latestStart = latestStart;
+        this.latestFinish = latestFinish;
+        this.totalSlack = totalSlack;
+        this.freeSlack = freeSlack;
+        this.componentEarliestStart = componentEarliestStart;
+        this.componentLatestStart = componentLatestStart;
+    }
+
+    // Returns true if node is on a critical path (zero total slack).
+    public boolean isCritical(int node) {
+        return totalSlack[node] == 0;
+    }
+
+    // Returns the number of critical nodes.
+    public int criticalCount() {
+        int count = 0;
+        for (long slack : totalSlack) {
+            if (slack == 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // String representation of the result.
+    @Override
+    public String toString() {
+        return "CpmResult{projectDuration=" + projectDuration + ", nodes=" + earliestStart.length + "}";
+    }
+}
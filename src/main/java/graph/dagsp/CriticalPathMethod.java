@@ -0,0 +1,105 @@
+package graph.dagsp;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+// Critical Path Method over the condensation DAG, for all tasks at once.
+// Forward sweep in topological order: ES(v) = max over edges u->v of EF(u) + lag(u, v), EF = ES + D.
+// Backward sweep in reverse order: LF(u) = min over edges u->v of LS(v) - lag(u, v) (the project
+// duration for sinks), LS = LF - D, free slack = min over edges of ES(v) - lag - EF(u) (project
+// duration - EF for sinks). Total slack = LS - ES. Both sweeps touch every component and edge once.
+// Weight model as in LongestPath: "node" uses summed durations per component and zero lags; otherwise
+// durations are 0 and the lag of a condensation edge is its largest original edge weight, because
+// every parallel dependency must hold.
+public class CriticalPathMethod {
+
+    // Computes the full schedule; values are mapped to nodes through nodeToComponent.
+    public CpmResult compute(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                             String weightModel, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+
+        int k = condensationResult.getComponentCount();
+        CsrGraph csr = graph.getCsr();
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int[] componentOrder = topo.getComponentOrderArray();
+        boolean nodeModel = "node".equals(weightModel);
+        long[] duration = nodeModel ? ComponentUtils.buildComponentWeight(condensationResult, csr) : new long[k];
+        int[] lag = nodeModel ? null : ComponentUtils.buildComponentMaxEdgeWeights(condensationResult, csr);
+
+        // Forward sweep.
+        long[] es = new long[k];
+        long[] ef = new long[k];
+        long projectDuration = 0L;
+        for (int u : componentOrder) {
+            ef[u] = es[u] + duration[u];
+            projectDuration = Math.max(projectDuration, ef[u]);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                long start = ef[u] + (lag == null ? 0 : lag[e]);
+                if (start > es[targets[e]]) {
+                    es[targets[e]] = start;
+                }
+            }
+        }
+
+        // Backward sweep.
+        long[] ls = new long[k];
+        long[] lf = new long[k];
+        long[] free = new long[k];
+        for (int i = k - 1; i >= 0; i--) {
+            int u = componentOrder[i];
+            long latestFinish = projectDuration;
+            long freeFinish = projectDuration;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                long edgeLag = lag == null ? 0 : lag[e];
+                latestFinish = Math.min(latestFinish, ls[v] - edgeLag);
+                freeFinish = Math.min(freeFinish, es[v] - edgeLag);
+            }
+            lf[u] = latestFinish;
+            ls[u] = latestFinish - duration[u];
+            free[u] = freeFinish - ef[u];
+        }
+
+        // Map to nodes.
+        int[] nodeToComponent = condensationResult.getNodeToComponent();
+        int n = nodeToComponent.length;
+        long[] nodeEs = new long[n];
+        long[] nodeEf = new long[n];
+        long[] nodeLs = new long[n];
+        long[] nodeLf = new long[n];
+        long[] nodeTotal = new long[n];
+        long[] nodeFree = new long[n];
+        long critical = 0L;
+        for (int node = 0; node < n; node++) {
+            int c = nodeToComponent[node];
+            if (c < 0) {
+                continue;
+            }
+            nodeEs[node] = es[c];
+            nodeEf[node] = ef[c];
+            nodeLs[node] = ls[c];
+            nodeLf[node] = lf[c];
+            nodeTotal[node] = ls[c] - es[c];
+            nodeFree[node] = free[c];
+            if (nodeTotal[node] == 0) {
+                critical++;
+            }
+        }
+
+        if (metrics != null) {
+            metrics.incBy("cpm.edges", 2L * offsets[k]);
+            metrics.putLong("cpm.critical.nodes", critical);
+            metrics.putLong("cpm.project.duration", projectDuration);
+            metrics.stopTimer();
+            metrics.putLong("cpm.time.nanos", metrics.getElapsedNanos());
+        }
+        return new CpmResult(projectDuration, nodeEs, nodeEf, nodeLs, nodeLf, nodeTotal, nodeFree, es, ls);
+    }
+}
@@ -0,0 +1,103 @@
+package graph.dagsp;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+// Computes shortest and longest paths from one source in a single topological sweep.
+// Both DPs read the same component weights, edge weights and CSR row per component, so every row is
+// loaded once for both. The weight model is resolved before the loop, exactly as ShortestPaths
+// (case-insensitive) and LongestPath (case-sensitive) resolve it, and results are identical to theirs.
+public class FusedPaths {
+    private static final long INF = Long.MAX_VALUE / 4;
+    private static final long NEG_INF = Long.MIN_VALUE / 4;
+
+    // Main method to compute both path kinds from a source node.
+    // Metrics: "dag.relaxations.shortest", "dag.relaxations.longest", their sum under "dag.relaxations",
+    // and "dag.time.nanos" for the whole sweep (both sides share it, so it is not split).
+    public FusedPathsResult compute(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                    int sourceNode, String weightModel, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+
+        // Input validation checks.
+        if (sourceNode < 0 || sourceNode >= graph.getN()) {
+            throw new IllegalArgumentException("sourceNode must be a positive integer");
+        }
+        int k = condensationResult.getComponentCount();
+        int sourceComponent = condensationResult.getNodeToComponent()[sourceNode];
+        if (sourceComponent < 0 || sourceComponent >= k) {
+            throw new IllegalArgumentException("Invalid source node/component");
+        }
+
+        CsrGraph csr = graph.getCsr();
+        long[] componentWeight = ComponentUtils.buildComponentWeight(condensationResult, csr);
+        int[] edgeWeight = ComponentUtils.buildComponentEdgeWeights(condensationResult, csr);
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int[] componentOrder = topo.getComponentOrderArray();
+        // Resolve the weight model once, with each algorithm's historical comparison.
+        boolean shortestNodeModel = "node".equalsIgnoreCase(weightModel);
+        boolean longestNodeModel = "node".equals(weightModel);
+
+        long[] dist = new long[k];
+        int[] shortestParent = new int[k];
+        long[] best = new long[k];
+        int[] longestParent = new int[k];
+        for (int i = 0; i < k; i++) {
+            dist[i] = INF;
+            best[i] = NEG_INF;
+            shortestParent[i] = -1;
+            longestParent[i] = -1;
+        }
+        dist[sourceComponent] = shortestNodeModel ? componentWeight[sourceComponent] : 0L;
+        best[sourceComponent] = longestNodeModel ? componentWeight[sourceComponent] : 0L;
+
+        long shortestRelaxations = 0L;
+        long longestRelaxations = 0L;
+        for (int u : componentOrder) {
+            long du = dist[u];
+            long bu = best[u];
+            boolean shortestReached = du != INF;
+            boolean longestReached = bu != NEG_INF;
+            if (!shortestReached && !longestReached) {
+                continue; // Skip unreachable components.
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (shortestReached) {
+                    shortestRelaxations++;
+                    long candidate = du + (shortestNodeModel ? componentWeight[v] : edgeWeight[e]);
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
+                        shortestParent[v] = u;
+                        shortestRelaxations++;
+                    }
+                }
+                if (longestReached) {
+                    longestRelaxations++;
+                    long candidate = bu + (longestNodeModel ? componentWeight[v] : edgeWeight[e]);
+                    if (candidate > best[v]) {
+                        best[v] = candidate;
+                        longestParent[v] = u;
+                        longestRelaxations++;
+                    }
+                }
+            }
+        }
+
+        if (metrics != null) {
+            metrics.incBy("dag.relaxations.shortest", shortestRelaxations);
+            metrics.incBy("dag.relaxations.longest", longestRelaxations);
+            metrics.incBy("dag.relaxations", shortestRelaxations + longestRelaxations);
+            metrics.stopTimer();
+            metrics.putLong("dag.time.nanos", metrics.getElapsedNanos());
+        }
+        return new FusedPathsResult(new SPResult(dist, shortestParent), new SPResult(best, longestParent),
+                shortestRelaxations, longestRelaxations);
+    }
+}
@@ -0,0 +1,23 @@
+package graph.dagsp;
+
+// Stores the results of the fused shortest + longest path sweep.
+public class FusedPathsResult {
+    public final SPResult shortest; // Same values as ShortestPaths.shortestPaths
+    public final SPResult longest; // Same values as LongestPath.longestPath
+    public final long shortestRelaxations; // Edges examined plus improvements, shortest side
+    public final long longestRelaxations; // Edges examined plus improvements, longest side
+
+    // Constructor to initialize results.
+    public FusedPathsResult(SPResult shortest, SPResult longest, long shortestRelaxations, long longestRelaxations) {
+        this.shortest = shortest;
+        this.longest = longest;
+        this.shortestRelaxations = shortestRelaxations;
+        this.longestRelaxations = longestRelaxations;
+    }
+
+    // String representation of the result.
+    @Override
+    public String toString() {
+        return "FusedPathsResult{shortest=" + shortest + ", longest=" + longest + "}";
+    }
+}
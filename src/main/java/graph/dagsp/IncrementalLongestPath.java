@@ -0,0 +1,260 @@
+package graph.dagsp;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.Arrays;
+
+// Longest paths from one source, kept up to date while task durations change.
+// The distance and parent arrays, component weights and a reverse (predecessor) CSR are built once.
+// A duration update adjusts the weight of the node's component and marks it dirty. Dirty components
+// are recomputed from their predecessors in topological order, taken from a min-heap keyed by
+// topological position. Only a component whose distance actually changed marks its successors, so
+// the propagation stops at the first components whose value stays the same.
+// Distances and parents equal those of LongestPath on the updated durations, with the same tie-break
+// (first predecessor in topological order). Only the node weight model depends on durations; under
+// the edge model updates are recorded but leave the distances unchanged.
+// Keeps its own copy of the durations (the Graph is not modified). Not thread-safe.
+public class IncrementalLongestPath {
+    private static final long NEG_INF = Long.MIN_VALUE / 4;
+
+    private final int[] nodeToComponent;
+    private final int sourceComponent;
+    private final boolean nodeModel;
+    private final int[] durations;
+    private final long[] componentWeight;
+    private final int[] edgeWeight;
+    private final int[] position;
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+    private final int[] predecessorEdges; // Index of the matching edge in the component graph
+    private final int[] successorOffsets;
+    private final int[] successors;
+    private final long[] best;
+    private final int[] parent;
+
+    // Dirty set: min-heap of topological positions, with a membership flag per component.
+    private final int[] heap;
+    private final boolean[] queued;
+    private int heapSize;
+
+    // Computes the initial longest paths, as LongestPath.longestPath does.
+    public IncrementalLongestPath(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                  int sourceNode, String weightModel, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        if (sourceNode < 0 || sourceNode >= graph.getN()) {
+            throw new IllegalArgumentException("sourceNode must be a positive integer");
+        }
+        this.nodeToComponent = condensationResult.getNodeToComponent();
+        int k = condensationResult.getComponentCount();
+        this.sourceComponent = nodeToComponent[sourceNode];
+        if (sourceComponent < 0 || sourceComponent >= k) {
+            throw new IllegalArgumentException("Invalid source node/component");
+        }
+        this.nodeModel = "node".equals(weightModel);
+
+        CsrGraph csr = graph.getCsr();
+        this.durations = csr.getDurations().clone();
+        // The builder may hand out its cached array, which must not be modified.
+        this.componentWeight = ComponentUtils.buildComponentWeight(condensationResult, csr).clone();
+        this.edgeWeight = ComponentUtils.buildComponentEdgeWeights(condensationResult, csr);
+
+        CsrGraph dag = condensationResult.getComponentGraph();
+        this.successorOffsets = dag.getOffsets();
+        this.successors = dag.getTargets();
+        int[] componentOrder = topo.getComponentOrderArray();
+        this.position = new int[k];
+        for (int p = 0; p < k; p++) {
+            position[componentOrder[p]] = p;
+        }
+
+        // Reverse CSR by counting sort on the target component.
+        int edges = successorOffsets[k];
+        predecessorOffsets = new int[k + 1];
+        for (int e = 0; e < edges; e++) {
+            predecessorOffsets[successors[e] + 1]++;
+        }
+        for (int c = 0; c < k; c++) {
+            predecessorOffsets[c + 1] += predecessorOffsets[c];
+        }
+        predecessors = new int[edges];
+        predecessorEdges = new int[edges];
+        int[] cursor = Arrays.copyOf(predecessorOffsets, k);
+        for (int u = 0; u < k; u++) {
+            for (int e = successorOffsets[u]; e < successorOffsets[u + 1]; e++) {
+                int slot = cursor[successors[e]]++;
+                predecessors[slot] = u;
+                predecessorEdges[slot] = e;
+            }
+        }
+
+        best = new long[k];
+        parent = new int[k];
+        Arrays.fill(best, NEG_INF);
+        Arrays.fill(parent, -1);
+        best[sourceComponent] = nodeModel ? componentWeight[sourceComponent] : 0L;
+        for (int u : componentOrder) {
+            if (best[u] == NEG_INF) {
+                continue;
+            }
+            for (int e = successorOffsets[u]; e < successorOffsets[u + 1]; e++) {
+                int v = successors[e];
+                long candidate = best[u] + (nodeModel ? componentWeight[v] : edgeWeight[e]);
+                if (candidate > best[v]) {
+                    best[v] = candidate;
+                    parent[v] = u;
+                }
+            }
+        }
+
+        heap = new int[k];
+        queued = new boolean[k];
+        if (metrics != null) {
+            metrics.stopTimer();
+            metrics.putLong("dag.incremental.init.nanos", metrics.getElapsedNanos());
+        }
+    }
+
+    // Sets the duration of one node and re-propagates the affected distances.
+    public void updateDuration(int node, int duration, Metrics metrics) {
+        updateDurations(new int[]{node}, new int[]{duration}, metrics);
+    }
+
+    // Applies a batch of duration changes (nodes[i] gets newDurations[i]; later entries win) and
+    // re-propagates once, so components downstream of several changes are recomputed only once.
+    public void updateDurations(int[] nodes, int[] newDurations, Metrics metrics) {
+        if (nodes.length != newDurations.length) {
+            throw new IllegalArgumentException("nodes and newDurations must have the same length");
+        }
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            int node = nodes[i];
+            if (node < 0 || node >= durations.length) {
+                throw new IllegalArgumentException("node out of range");
+            }
+            int component = nodeToComponent[node];
+            int delta = newDurations[i] - durations[node];
+            durations[node] = newDurations[i];
+            if (delta != 0 && component >= 0) {
+                componentWeight[component] += delta;
+                if (nodeModel) {
+                    enqueue(component);
+                }
+            }
+        }
+
+        long recomputed = 0L;
+        long changed = 0L;
+        while (heapSize > 0) {
+            int c = poll();
+            recomputed++;
+            if (recompute(c)) {
+                changed++;
+                for (int e = successorOffsets[c]; e < successorOffsets[c + 1]; e++) {
+                    enqueue(successors[e]);
+                }
+            }
+        }
+
+        if (metrics != null) {
+            metrics.incBy("dag.incremental.updates", nodes.length);
+            metrics.incBy("dag.incremental.recomputed", recomputed);
+            metrics.incBy("dag.incremental.changed", changed);
+            metrics.stopTimer();
+            metrics.putLong("dag.incremental.time.nanos", metrics.getElapsedNanos());
+        }
+    }
+
+    // Returns the current distances and parents. The arrays are live and must not be modified.
+    public SPResult getResult() {
+        return new SPResult(best, parent);
+    }
+
+    // Returns the current longest distance of a component (Long.MIN_VALUE / 4 if unreachable).
+    public long distanceOf(int component) {
+        return best[component];
+    }
+
+    // Returns the current duration of a node.
+    public int durationOf(int node) {
+        return durations[node];
+    }
+
+    // Recomputes best[c] and parent[c] from the predecessors; returns true if best[c] changed.
+    private boolean recompute(int c) {
+        long value = NEG_INF;
+        int from = -1;
+        if (c == sourceComponent) {
+            value = nodeModel ? componentWeight[c] : 0L;
+        }
+        for (int i = predecessorOffsets[c]; i < predecessorOffsets[c + 1]; i++) {
+            int p = predecessors[i];
+            if (best[p] == NEG_INF) {
+                continue;
+            }
+            long candidate = best[p] + (nodeModel ? componentWeight[c] : edgeWeight[predecessorEdges[i]]);
+            // Ties go to the predecessor earliest in topological order, as in the full sweep.
+            if (candidate > value || (candidate == value && from != -1 && position[p] < position[from])) {
+                value = candidate;
+                from = p;
+            }
+        }
+        parent[c] = from;
+        if (value == best[c]) {
+            return false;
+        }
+        best[c] = value;
+        return true;
+    }
+
+    private void enqueue(int c) {
+        if (queued[c]) {
+            return;
+        }
+        queued[c] = true;
+        int key = position[c];
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (position[heap[up]] <= key) {
+                break;
+            }
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = c;
+    }
+
+    private int poll() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        int key = position[last];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && position[heap[child + 1]] < position[heap[child]]) {
+                child++;
+            }
+            if (key <= position[heap[child]]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (heapSize > 0) {
+            heap[i] = last;
+        }
+        queued[top] = false;
+        return top;
+    }
+}
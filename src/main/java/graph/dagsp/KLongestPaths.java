@@ -0,0 +1,327 @@
+package graph.dagsp;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// K longest source-to-sink paths on the condensation DAG, in order of decreasing length (Eppstein-style).
+// A reverse sweep computes h(v), the longest distance from v to any sink, and a tree successor next(v)
+// reaching it. Every other edge v->w is a sidetrack with loss h(v) - (h(w) + gain of the edge) >= 0.
+// Every path is the tree path with some sidetracks taken, and its length is h(source) minus their losses.
+// H(v) is a persistent leftist heap of all sidetracks on the tree path from v. It is built in the same
+// sweep as merge(sidetracks of v, H(next(v))), sharing structure, so it costs O(log) new nodes per component.
+// Paths are then popped from a priority queue over the heap nodes. Each popped path yields at most three
+// candidates: the two heap children replace its last sidetrack, and the root of H(head of the sidetrack)
+// appends one. K paths therefore cost O(K log K) after the sweep.
+// Weights follow LongestPath: "node" sums component weights along the path (source included),
+// otherwise the smallest original edge weight of each condensation edge is summed. Sinks are
+// components without outgoing edges.
+public class KLongestPaths {
+
+    // Returns up to k longest paths from the source node's component to any sink, longest first.
+    public List<RankedPath> longestPaths(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                         int sourceNode, String weightModel, int k, Metrics metrics) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+        return enumerate(condensationResult, graph, topo, sourceNode, weightModel, k, -1.0, metrics);
+    }
+
+    // Returns every path whose length is within percent % of the longest one (at most limit paths),
+    // longest first.
+    public List<RankedPath> nearCriticalPaths(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                              int sourceNode, String weightModel, double percent, int limit,
+                                              Metrics metrics) {
+        if (percent < 0) {
+            throw new IllegalArgumentException("percent must be non-negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be non-negative");
+        }
+        return enumerate(condensationResult, graph, topo, sourceNode, weightModel, limit, percent, metrics);
+    }
+
+    private List<RankedPath> enumerate(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                       int sourceNode, String weightModel, int maxPaths, double percent,
+                                       Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        if (sourceNode < 0 || sourceNode >= graph.getN()) {
+            throw new IllegalArgumentException("sourceNode must be a positive integer");
+        }
+        int componentCount = condensationResult.getComponentCount();
+        int source = condensationResult.getNodeToComponent()[sourceNode];
+        if (source < 0 || source >= componentCount) {
+            throw new IllegalArgumentException("Invalid source node/component");
+        }
+
+        CsrGraph csr = graph.getCsr();
+        boolean nodeModel = "node".equals(weightModel);
+        long[] componentWeight = ComponentUtils.buildComponentWeight(condensationResult, csr);
+        int[] edgeWeight = ComponentUtils.buildComponentEdgeWeights(condensationResult, csr);
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int[] componentOrder = topo.getComponentOrderArray();
+
+        // Reverse sweep: suffix lengths, tree successors and sidetrack heaps.
+        long[] h = new long[componentCount];
+        int[] next = new int[componentCount];
+        int[] heapRoot = new int[componentCount];
+        HeapPool heaps = new HeapPool(Math.max(16, offsets[componentCount] * 2));
+        for (int i = componentCount - 1; i >= 0; i--) {
+            int v = componentOrder[i];
+            long base = nodeModel ? componentWeight[v] : 0L;
+            int treeEdge = -1;
+            long bestTail = 0L;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                long tail = (nodeModel ? 0L : edgeWeight[e]) + h[targets[e]];
+                if (treeEdge == -1 || tail > bestTail) {
+                    treeEdge = e;
+                    bestTail = tail;
+                }
+            }
+            h[v] = base + bestTail;
+            if (treeEdge == -1) {
+                next[v] = -1;
+                heapRoot[v] = 0;
+                continue;
+            }
+            next[v] = targets[treeEdge];
+            int own = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (e != treeEdge) {
+                    long loss = bestTail - ((nodeModel ? 0L : edgeWeight[e]) + h[targets[e]]);
+                    own = heaps.merge(own, heaps.leaf(loss, e));
+                }
+            }
+            heapRoot[v] = heaps.merge(own, heapRoot[next[v]]);
+        }
+
+        long critical = h[source];
+        long threshold = percent < 0 ? Long.MIN_VALUE
+                : critical - (long) Math.floor(Math.abs(critical) * percent / 100.0);
+        int[] edgeSource = new int[offsets[componentCount]];
+        for (int v = 0; v < componentCount; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                edgeSource[e] = v;
+            }
+        }
+
+        // Best-first search over sidetrack sets. Candidate c takes sidetrack heapNode[c] after the
+        // sidetracks of candidate prefix[c]; cost[c] is the total loss.
+        List<RankedPath> paths = new ArrayList<>();
+        Candidates candidates = new Candidates();
+        if (maxPaths > 0) {
+            paths.add(new RankedPath(critical, buildPath(source, -1, candidates, heaps, next, targets, edgeSource)));
+            if (heapRoot[source] != 0) {
+                candidates.push(heaps.key[heapRoot[source]], heapRoot[source], -1);
+            }
+        }
+        while (paths.size() < maxPaths && !candidates.isEmpty()) {
+            int c = candidates.pop();
+            long cost = candidates.cost[c];
+            if (critical - cost < threshold) {
+                break;
+            }
+            int node = candidates.heapNode[c];
+            paths.add(new RankedPath(critical - cost, buildPath(source, c, candidates, heaps, next, targets, edgeSource)));
+
+            int left = heaps.left[node];
+            int right = heaps.right[node];
+            if (left != 0) {
+                candidates.push(cost - heaps.key[node] + heaps.key[left], left, candidates.prefix[c]);
+            }
+            if (right != 0) {
+                candidates.push(cost - heaps.key[node] + heaps.key[right], right, candidates.prefix[c]);
+            }
+            int root = heapRoot[targets[heaps.edge[node]]];
+            if (root != 0) {
+                candidates.push(cost + heaps.key[root], root, c);
+            }
+        }
+
+        if (metrics != null) {
+            metrics.incBy("dag.kpaths.paths", paths.size());
+            metrics.incBy("dag.kpaths.heap.nodes", heaps.size - 1L);
+            metrics.incBy("dag.kpaths.candidates", candidates.size);
+            metrics.stopTimer();
+            metrics.putLong("dag.kpaths.time.nanos", metrics.getElapsedNanos());
+        }
+        return paths;
+    }
+
+    // Expands the sidetracks of candidate c (none if c is -1) into the component sequence of its path.
+    private static int[] buildPath(int source, int c, Candidates candidates, HeapPool heaps, int[] next,
+                                   int[] targets, int[] edgeSource) {
+        int count = 0;
+        for (int x = c; x != -1; x = candidates.prefix[x]) {
+            count++;
+        }
+        int[] sidetracks = new int[count];
+        for (int x = c; x != -1; x = candidates.prefix[x]) {
+            sidetracks[--count] = heaps.edge[candidates.heapNode[x]];
+        }
+
+        int[] path = new int[8];
+        int length = 0;
+        int v = source;
+        path[length++] = v;
+        for (int e : sidetracks) {
+            while (v != edgeSource[e]) {
+                v = next[v];
+                path = grow(path, length);
+                path[length++] = v;
+            }
+            v = targets[e];
+            path = grow(path, length);
+            path[length++] = v;
+        }
+        while (next[v] != -1) {
+            v = next[v];
+            path = grow(path, length);
+            path[length++] = v;
+        }
+        return Arrays.copyOf(path, length);
+    }
+
+    private static int[] grow(int[] array, int length) {
+        return length < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    // Persistent leftist min-heaps (keyed by loss) in parallel arrays. Node 0 is the empty heap.
+    private static final class HeapPool {
+        long[] key;
+        int[] edge;
+        int[] left;
+        int[] right;
+        int[] rank;
+        int size = 1;
+
+        HeapPool(int capacity) {
+            key = new long[capacity];
+            edge = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            rank = new int[capacity];
+        }
+
+        int leaf(long loss, int e) {
+            int x = allocate();
+            key[x] = loss;
+            edge[x] = e;
+            rank[x] = 1;
+            return x;
+        }
+
+        // Merges two heaps without modifying either: only nodes on the right spine are copied.
+        int merge(int a, int b) {
+            if (a == 0) {
+                return b;
+            }
+            if (b == 0) {
+                return a;
+            }
+            if (key[b] < key[a]) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            int merged = merge(right[a], b);
+            int x = allocate();
+            key[x] = key[a];
+            edge[x] = edge[a];
+            left[x] = left[a];
+            right[x] = merged;
+            if (rank[left[x]] < rank[right[x]]) {
+                right[x] = left[x];
+                left[x] = merged;
+            }
+            rank[x] = rank[right[x]] + 1;
+            return x;
+        }
+
+        private int allocate() {
+            if (size == key.length) {
+                int capacity = key.length * 2;
+                key = Arrays.copyOf(key, capacity);
+                edge = Arrays.copyOf(edge, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                rank = Arrays.copyOf(rank, capacity);
+            }
+            return size++;
+        }
+    }
+
+    // Candidate paths in parallel arrays, with a binary min-heap of candidate indices by cost.
+    private static final class Candidates {
+        long[] cost = new long[16];
+        int[] heapNode = new int[16];
+        int[] prefix = new int[16];
+        int[] queue = new int[16];
+        int size;
+        int queued;
+
+        void push(long candidateCost, int node, int prefixCandidate) {
+            if (size == cost.length) {
+                cost = Arrays.copyOf(cost, size * 2);
+                heapNode = Arrays.copyOf(heapNode, size * 2);
+                prefix = Arrays.copyOf(prefix, size * 2);
+            }
+            int c = size++;
+            cost[c] = candidateCost;
+            heapNode[c] = node;
+            prefix[c] = prefixCandidate;
+
+            if (queued == queue.length) {
+                queue = Arrays.copyOf(queue, queued * 2);
+            }
+            int i = queued++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (cost[queue[up]] <= candidateCost) {
+                    break;
+                }
+                queue[i] = queue[up];
+                i = up;
+            }
+            queue[i] = c;
+        }
+
+        int pop() {
+            int top = queue[0];
+            int last = queue[--queued];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= queued) {
+                    break;
+                }
+                if (child + 1 < queued && cost[queue[child + 1]] < cost[queue[child]]) {
+                    child++;
+                }
+                if (cost[last] <= cost[queue[child]]) {
+                    break;
+                }
+                queue[i] = queue[child];
+                i = child;
+            }
+            if (queued > 0) {
+                queue[i] = last;
+            }
+            return top;
+        }
+
+        boolean isEmpty() {
+            return queued == 0;
+        }
+    }
+}
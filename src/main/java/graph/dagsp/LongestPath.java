@@ -1,13 +1,12 @@
 package graph.dagsp;
 
 import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
 import graph.model.Graph;
 import graph.topo.TopoResult;
 import metrics.Metrics;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 // Finds the longest paths (critical paths) in the Condensation Graph.
 public class LongestPath {
@@ -33,8 +32,9 @@ public class LongestPath {
         }
 
         // Precalculate component weights and edge weights.
-        long[]componentWeight = ComponentUtils.buildComponentWeight(condensationResult,graph);
-        List<Map<Integer, Integer>> componentEdgeWeight = ComponentUtils.buildComponentEdgeWeight(condensationResult, graph);
+        CsrGraph csr = graph.getCsr();
+        long[] componentWeight = ComponentUtils.buildComponentWeight(condensationResult, csr);
+        int[] componentEdgeWeight = ComponentUtils.buildComponentEdgeWeights(condensationResult, csr);
 
         // Initialize best and parent arrays.
         long[] best = new long[k];
@@ -52,7 +52,12 @@ public class LongestPath {
         }
 
         List<Integer> componentOrder = topo.getComponentOrder();
-        List<Set<Integer>> adj = condensationResult.getAdjacentComponents();
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        // Resolve the weight model once instead of per relaxation.
+        boolean nodeModel = "node".equals(weightModel);
+        long relaxations = 0L;
 
         // Iterate through components in topological order to relax edges.
         for(int u : componentOrder){
@@ -60,34 +65,22 @@ public class LongestPath {
                 continue; // Skip unreachable components.
             }
             // Relax outgoing edges from the current component.
-            for(int v : adj.get(u)){
-                if(metrics != null){
-                    metrics.inc("dag.relaxations");
-                }
-                long weight;
+            for(int e = offsets[u]; e < offsets[u + 1]; e++){
+                int v = targets[e];
+                relaxations++;
                 // Determine the weight of the edge.
-                if("node".equals(weightModel)){
-                    weight = componentWeight[v];
-                }else {
-                    Map<Integer,Integer> inner = componentEdgeWeight.get(u);
-                    Integer edgeWeight = (inner == null) ? null : inner.get(v);
-                    if(edgeWeight == null){
-                        edgeWeight = 0;
-                    }
-                    weight = edgeWeight;
-                }
+                long weight = nodeModel ? componentWeight[v] : componentEdgeWeight[e];
                 long candidate = best[u] + weight;
                 // Relaxation step: check for longer path.
                 if(candidate > best[v]){
                     best[v] = candidate;
                     parent[v] = u;
-                    if(metrics != null){
-                        metrics.inc("dag.relaxations");
-                    }
+                    relaxations++;
                 }
             }
         }
         if (metrics != null) {
+            metrics.incBy("dag.relaxations", relaxations);
             metrics.stopTimer();
             metrics.putLong("dag.time.nanos", metrics.getElapsedNanos());
         }
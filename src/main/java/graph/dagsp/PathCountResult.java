@@ -0,0 +1,29 @@
+package graph.dagsp;
+
+// Stores per-task path counts. Node arrays are indexed by original node ID; nodes of one SCC share
+// their component's values.
+public class PathCountResult {
+    public final boolean criticalOnly; // True if only longest (critical) paths were counted
+    public final double totalPaths; // Number of counted source-to-sink paths (approximate above 2^53)
+    public final long totalPathsMod; // Same count modulo PathCounting.MODULUS
+    public final double[] pathsThrough; // Counted paths passing through each node
+    public final long[] pathsThroughMod; // Same counts modulo PathCounting.MODULUS
+    public final double[] criticality; // pathsThrough / totalPaths, in [0, 1]
+
+    // Constructor to initialize results.
+    public PathCountResult(boolean criticalOnly, double totalPaths, long totalPathsMod, double[] pathsThrough,
+                           long[] pathsThroughMod, double[] criticality) {
+        this.criticalOnly = criticalOnly;
+        this.totalPaths = totalPaths;
+        this.totalPathsMod = totalPathsMod;
+        this.pathsThrough = pathsThrough;
+        this.pathsThroughMod = pathsThroughMod;
+        this.criticality = criticality;
+    }
+
+    // String representation of the result.
+    @Override
+    public String toString() {
+        return "PathCountResult{criticalOnly=" + criticalOnly + ", totalPaths=" + totalPaths + "}";
+    }
+}
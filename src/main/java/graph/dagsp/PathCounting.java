@@ -0,0 +1,307 @@
+package graph.dagsp;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Counts, for every task, the source-to-sink paths of the condensation DAG passing through it.
+// Sources are components without predecessors and sinks those without successors. Forward counts
+// F(v) (paths from a source ending at v) and backward counts B(v) (paths from v to a sink) are
+// accumulated in topological order; F(v) * B(v) paths pass through v and their share of the total is
+// the criticality index. With criticalOnly only longest paths are counted: an edge u->v belongs to
+// the critical subgraph iff down(u) + gain + up(v) equals the longest path length, where down/up
+// are the longest distances from a source / to a sink (weights as in LongestPath).
+// Counts grow exponentially with depth, so they are kept twice: as doubles (exact up to 2^53, the
+// index stays meaningful until the doubles overflow) and modulo the prime MODULUS (exact residues,
+// e.g. to compare counts).
+// Every sweep pulls from already final neighbours, so with parallelism > 1 and a TopoResult that has
+// levels (LevelTopologicalSorter) the components of each level are processed in parallel.
+public class PathCounting {
+    public static final long MODULUS = 1_000_000_007L;
+    private static final long NEG_INF = Long.MIN_VALUE / 4;
+    // Level slices smaller than this are processed by a single task.
+    private static final int DEFAULT_GRAIN = 1024;
+
+    private final int parallelism;
+    private final int grain;
+
+    // Initializes a sequential counter.
+    public PathCounting() {
+        this(1);
+    }
+
+    // Initializes the counter with the given parallelism level.
+    public PathCounting(int parallelism) {
+        this(parallelism, DEFAULT_GRAIN);
+    }
+
+    // Package-private for tests: grain is the smallest level slice that is split across tasks.
+    PathCounting(int parallelism, int grain) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        if (grain < 1) {
+            throw new IllegalArgumentException("grain must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.grain = grain;
+    }
+
+    public PathCountResult count(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                 String weightModel, boolean criticalOnly, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        int k = condensationResult.getComponentCount();
+        CsrGraph csr = graph.getCsr();
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        boolean nodeModel = "node".equals(weightModel);
+        long[] componentWeight = ComponentUtils.buildComponentWeight(condensationResult, csr);
+        int[] edgeWeight = ComponentUtils.buildComponentEdgeWeights(condensationResult, csr);
+
+        // Reverse CSR by counting sort on the target; predecessorEdges[i] is the forward edge index.
+        int[] predecessorOffsets = new int[k + 1];
+        for (int e = 0; e < offsets[k]; e++) {
+            predecessorOffsets[targets[e] + 1]++;
+        }
+        for (int c = 0; c < k; c++) {
+            predecessorOffsets[c + 1] += predecessorOffsets[c];
+        }
+        int[] predecessors = new int[offsets[k]];
+        int[] predecessorEdges = new int[offsets[k]];
+        int[] cursor = Arrays.copyOf(predecessorOffsets, k);
+        for (int u = 0; u < k; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int slot = cursor[targets[e]]++;
+                predecessors[slot] = u;
+                predecessorEdges[slot] = e;
+            }
+        }
+
+        Sweeper sweeper = new Sweeper(topo, parallelism, grain);
+        try {
+            // Longest distances from a source (down) and to a sink (up), node weights included.
+            long[] down = new long[k];
+            long[] up = new long[k];
+            long longest = Long.MIN_VALUE;
+            if (criticalOnly) {
+                sweeper.forward(v -> {
+                    // Sources start at 0; otherwise the best predecessor, which may be negative.
+                    long best = predecessorOffsets[v] == predecessorOffsets[v + 1] ? 0L : NEG_INF;
+                    for (int i = predecessorOffsets[v]; i < predecessorOffsets[v + 1]; i++) {
+                        long candidate = down[predecessors[i]] + (nodeModel ? 0L : edgeWeight[predecessorEdges[i]]);
+                        best = Math.max(best, candidate);
+                    }
+                    down[v] = best + (nodeModel ? componentWeight[v] : 0L);
+                });
+                sweeper.backward(v -> {
+                    long best = offsets[v] == offsets[v + 1] ? 0L : NEG_INF;
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        best = Math.max(best, up[targets[e]] + (nodeModel ? 0L : edgeWeight[e]));
+                    }
+                    up[v] = best + (nodeModel ? componentWeight[v] : 0L);
+                });
+                // Longest complete path: only sinks end one.
+                for (int v = 0; v < k; v++) {
+                    if (offsets[v] == offsets[v + 1]) {
+                        longest = Math.max(longest, down[v]);
+                    }
+                }
+            }
+            long critical = longest;
+
+            double[] forward = new double[k];
+            long[] forwardMod = new long[k];
+            sweeper.forward(v -> {
+                if (predecessorOffsets[v] == predecessorOffsets[v + 1]) {
+                    boolean counted = !criticalOnly || up[v] == critical;
+                    forward[v] = counted ? 1.0 : 0.0;
+                    forwardMod[v] = counted ? 1L : 0L;
+                    return;
+                }
+                double sum = 0.0;
+                long sumMod = 0L;
+                for (int i = predecessorOffsets[v]; i < predecessorOffsets[v + 1]; i++) {
+                    int u = predecessors[i];
+                    if (criticalOnly && !onCriticalEdge(down, up, critical, edgeWeight, nodeModel,
+                            u, v, predecessorEdges[i])) {
+                        continue;
+                    }
+                    sum += forward[u];
+                    sumMod += forwardMod[u];
+                    if (sumMod >= MODULUS) {
+                        sumMod -= MODULUS;
+                    }
+                }
+                forward[v] = sum;
+                forwardMod[v] = sumMod;
+            });
+
+            double[] backward = new double[k];
+            long[] backwardMod = new long[k];
+            sweeper.backward(v -> {
+                if (offsets[v] == offsets[v + 1]) {
+                    boolean counted = !criticalOnly || down[v] == critical;
+                    backward[v] = counted ? 1.0 : 0.0;
+                    backwardMod[v] = counted ? 1L : 0L;
+                    return;
+                }
+                double sum = 0.0;
+                long sumMod = 0L;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = targets[e];
+                    if (criticalOnly && !onCriticalEdge(down, up, critical, edgeWeight, nodeModel,
+                            v, w, e)) {
+                        continue;
+                    }
+                    sum += backward[w];
+                    sumMod += backwardMod[w];
+                    if (sumMod >= MODULUS) {
+                        sumMod -= MODULUS;
+                    }
+                }
+                backward[v] = sum;
+                backwardMod[v] = sumMod;
+            });
+
+            double total = 0.0;
+            long totalMod = 0L;
+            for (int v = 0; v < k; v++) {
+                if (offsets[v] == offsets[v + 1]) {
+                    total += forward[v] * backward[v];
+                    totalMod = (totalMod + forwardMod[v] * backwardMod[v]) % MODULUS;
+                }
+            }
+
+            // Map to nodes.
+            int[] nodeToComponent = condensationResult.getNodeToComponent();
+            int n = nodeToComponent.length;
+            double[] through = new double[n];
+            long[] throughMod = new long[n];
+            double[] criticality = new double[n];
+            for (int node = 0; node < n; node++) {
+                int c = nodeToComponent[node];
+                if (c < 0) {
+                    continue;
+                }
+                through[node] = forward[c] * backward[c];
+                throughMod[node] = forwardMod[c] * backwardMod[c] % MODULUS;
+                criticality[node] = total > 0 ? through[node] / total : 0.0;
+            }
+
+            if (metrics != null) {
+                metrics.incBy("dag.pathcount.sweeps", criticalOnly ? 4 : 2);
+                metrics.incBy("dag.pathcount.edges", (criticalOnly ? 4L : 2L) * offsets[k]);
+                metrics.stopTimer();
+                metrics.putLong("dag.pathcount.time.nanos", metrics.getElapsedNanos());
+            }
+            return new PathCountResult(criticalOnly, total, totalMod, through, throughMod, criticality);
+        } finally {
+            sweeper.shutdown();
+        }
+    }
+
+    // Edge u->v (forward index e) lies on a longest source-to-sink path.
+    private static boolean onCriticalEdge(long[] down, long[] up, long critical, int[] edgeWeight,
+                                          boolean nodeModel, int u, int v, int e) {
+        return down[u] + (nodeModel ? 0L : edgeWeight[e]) + up[v] == critical;
+    }
+
+    private interface ComponentStep {
+        void apply(int component);
+    }
+
+    // Runs a step for every component in topological (or reverse) order, level by level in parallel
+    // when the order has levels and parallelism is above 1.
+    private static final class Sweeper {
+        private final int[] order;
+        private final int[] levelOffsets;
+        private final ForkJoinPool pool;
+        private final int grain;
+
+        Sweeper(TopoResult topo, int parallelism, int grain) {
+            this.grain = grain;
+            this.order = topo.getComponentOrderArray();
+            boolean parallel = parallelism > 1 && topo.hasLevels();
+            this.levelOffsets = parallel ? topo.getLevelOffsets() : null;
+            this.pool = parallel ? new ForkJoinPool(parallelism) : null;
+        }
+
+        void forward(ComponentStep step) {
+            if (pool == null) {
+                for (int v : order) {
+                    step.apply(v);
+                }
+                return;
+            }
+            for (int level = 0; level + 1 < levelOffsets.length; level++) {
+                runLevel(step, levelOffsets[level], levelOffsets[level + 1]);
+            }
+        }
+
+        void backward(ComponentStep step) {
+            if (pool == null) {
+                for (int i = order.length - 1; i >= 0; i--) {
+                    step.apply(order[i]);
+                }
+                return;
+            }
+            for (int level = levelOffsets.length - 2; level >= 0; level--) {
+                runLevel(step, levelOffsets[level], levelOffsets[level + 1]);
+            }
+        }
+
+        private void runLevel(ComponentStep step, int from, int to) {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    step.apply(order[i]);
+                }
+            } else {
+                pool.invoke(new Slice(order, step, from, to, grain));
+            }
+        }
+
+        void shutdown() {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // Applies a step to the components of order[from, to), splitting down to grain.
+    private static final class Slice extends RecursiveAction {
+        private final int[] order;
+        private final ComponentStep step;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        Slice(int[] order, ComponentStep step, int from, int to, int grain) {
+            this.order = order;
+            this.step = step;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Slice(order, step, from, mid, grain), new Slice(order, step, mid, to, grain));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                step.apply(order[i]);
+            }
+        }
+    }
+}
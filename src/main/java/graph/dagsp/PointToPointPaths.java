@@ -0,0 +1,201 @@
+package graph.dagsp;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.Arrays;
+
+// Single-pair shortest / longest path queries on the condensation DAG.
+// Only components whose topological position lies between pos(source) and pos(target) can be on a
+// path, so the sweep runs over that slice of the order and ignores edges leaving it. With pruning,
+// a backward search from the target over predecessors (also limited to the slice) first marks the
+// components that can reach the target, and the sweep skips everything else, so the cost follows
+// the subgraph between the two components rather than everything reachable from the source.
+// Distances and paths equal those of ShortestPaths / LongestPath for the target component (same
+// weights and tie-breaks). Weights, positions and the predecessor CSR are built once per instance;
+// per-query arrays are reset with stamps, in a per-thread workspace, so queries may run concurrently.
+public class PointToPointPaths {
+    private final int k;
+    private final int[] nodeToComponent;
+    private final int[] order;
+    private final int[] position;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+    private final long[] componentWeight;
+    private final int[] edgeWeight;
+    private final boolean shortestNodeModel;
+    private final boolean longestNodeModel;
+    private final ThreadLocal<Workspace> workspace;
+
+    // Prepares queries on condensationResult in the order of topo.
+    public PointToPointPaths(CondensationResult condensationResult, Graph graph, TopoResult topo, String weightModel) {
+        CsrGraph dag = condensationResult.getComponentGraph();
+        this.k = dag.getN();
+        this.nodeToComponent = condensationResult.getNodeToComponent();
+        this.order = topo.getComponentOrderArray();
+        this.position = new int[k];
+        for (int p = 0; p < k; p++) {
+            position[order[p]] = p;
+        }
+        this.offsets = dag.getOffsets();
+        this.targets = dag.getTargets();
+        CsrGraph csr = graph.getCsr();
+        this.componentWeight = ComponentUtils.buildComponentWeight(condensationResult, csr);
+        this.edgeWeight = ComponentUtils.buildComponentEdgeWeights(condensationResult, csr);
+        // Same weight model matching as ShortestPaths and LongestPath respectively.
+        this.shortestNodeModel = "node".equalsIgnoreCase(weightModel);
+        this.longestNodeModel = "node".equals(weightModel);
+
+        predecessorOffsets = new int[k + 1];
+        for (int e = 0; e < offsets[k]; e++) {
+            predecessorOffsets[targets[e] + 1]++;
+        }
+        for (int c = 0; c < k; c++) {
+            predecessorOffsets[c + 1] += predecessorOffsets[c];
+        }
+        predecessors = new int[offsets[k]];
+        int[] cursor = Arrays.copyOf(predecessorOffsets, k);
+        for (int u = 0; u < k; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                predecessors[cursor[targets[e]]++] = u;
+            }
+        }
+        this.workspace = ThreadLocal.withInitial(() -> new Workspace(k));
+    }
+
+    // Returns the shortest path from sourceNode to targetNode, or null if the target is unreachable.
+    public RankedPath shortestPath(int sourceNode, int targetNode, boolean prune, Metrics metrics) {
+        return query(sourceNode, targetNode, false, prune, metrics);
+    }
+
+    // Returns the longest path from sourceNode to targetNode, or null if the target is unreachable.
+    public RankedPath longestPath(int sourceNode, int targetNode, boolean prune, Metrics metrics) {
+        return query(sourceNode, targetNode, true, prune, metrics);
+    }
+
+    private RankedPath query(int sourceNode, int targetNode, boolean longest, boolean prune, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        if (sourceNode < 0 || sourceNode >= nodeToComponent.length
+                || targetNode < 0 || targetNode >= nodeToComponent.length) {
+            throw new IllegalArgumentException("node out of range");
+        }
+        int source = nodeToComponent[sourceNode];
+        int target = nodeToComponent[targetNode];
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Invalid source node/component");
+        }
+        int low = position[source];
+        int high = position[target];
+        boolean nodeModel = longest ? longestNodeModel : shortestNodeModel;
+        Workspace ws = workspace.get();
+        int stamp = ws.nextStamp();
+        long scanned = 0L;
+        long relaxations = 0L;
+
+        if (low <= high && prune) {
+            // Mark the components of the slice that reach the target.
+            int top = 0;
+            ws.relevant[target] = stamp;
+            ws.stack[top++] = target;
+            while (top > 0) {
+                int v = ws.stack[--top];
+                for (int i = predecessorOffsets[v]; i < predecessorOffsets[v + 1]; i++) {
+                    int u = predecessors[i];
+                    if (ws.relevant[u] != stamp && position[u] >= low) {
+                        ws.relevant[u] = stamp;
+                        ws.stack[top++] = u;
+                    }
+                }
+            }
+        }
+
+        if (low <= high) {
+            ws.reached[source] = stamp;
+            ws.distance[source] = nodeModel ? componentWeight[source] : 0L;
+            ws.parent[source] = -1;
+            for (int p = low; p < high; p++) {
+                int u = order[p];
+                if (ws.reached[u] != stamp || (prune && ws.relevant[u] != stamp)) {
+                    continue;
+                }
+                scanned++;
+                long base = ws.distance[u];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int w = targets[e];
+                    if (position[w] > high || (prune && ws.relevant[w] != stamp)) {
+                        continue;
+                    }
+                    relaxations++;
+                    long candidate = base + (nodeModel ? componentWeight[w] : edgeWeight[e]);
+                    if (ws.reached[w] != stamp) {
+                        ws.reached[w] = stamp;
+                        ws.distance[w] = candidate;
+                        ws.parent[w] = u;
+                    } else if (longest ? candidate > ws.distance[w] : candidate < ws.distance[w]) {
+                        ws.distance[w] = candidate;
+                        ws.parent[w] = u;
+                    }
+                }
+            }
+        }
+
+        RankedPath result = null;
+        if (low <= high && ws.reached[target] == stamp) {
+            int length = 1;
+            for (int c = target; c != source; c = ws.parent[c]) {
+                length++;
+            }
+            int[] components = new int[length];
+            int c = target;
+            for (int i = length - 1; i > 0; i--) {
+                components[i] = c;
+                c = ws.parent[c];
+            }
+            components[0] = source;
+            result = new RankedPath(ws.distance[target], components);
+        }
+
+        if (metrics != null) {
+            metrics.incBy("dag.p2p.queries", 1);
+            metrics.incBy("dag.p2p.scanned", scanned);
+            metrics.incBy("dag.p2p.relaxations", relaxations);
+            metrics.stopTimer();
+            metrics.putLong("dag.p2p.time.nanos", metrics.getElapsedNanos());
+        }
+        return result;
+    }
+
+    // Per-thread query state; an entry is valid only if its stamp matches the current query.
+    private static final class Workspace {
+        final int[] reached;
+        final int[] relevant;
+        final long[] distance;
+        final int[] parent;
+        final int[] stack;
+        int stamp;
+
+        Workspace(int k) {
+            reached = new int[k];
+            relevant = new int[k];
+            distance = new long[k];
+            parent = new int[k];
+            stack = new int[k];
+        }
+
+        int nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(reached, 0);
+                Arrays.fill(relevant, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package graph.dagsp;
+
+import java.util.Arrays;
+
+// One path on the condensation DAG (from KLongestPaths or PointToPointPaths): its length and components.
+public class RankedPath {
+    public final long length; // Path weight under the weight model used for the query
+    public final int[] components; // Component IDs along the path, source first
+
+    // Constructor to initialize results.
+    public RankedPath(long length, int[] components) {
+        this.length = length;
+        this.components = components;
+    }
+
+    // String representation of the result.
+    @Override
+    public String toString() {
+        return "RankedPath{length=" + length + ", components=" + Arrays.toString(components) + "}";
+    }
+}
@@ -0,0 +1,160 @@
+package graph.dagsp;
+
+import metrics.Metrics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// Bounded LRU cache of SPResults keyed by (graph version, source node, weight model, min/max mode).
+// Size is the bytes held by the distance and parent arrays plus a fixed per-entry overhead; the least
+// recently used entries are evicted until the total fits maxBytes, and a result larger than the whole
+// budget is returned but not stored. Versions are expected to grow (e.g. DynamicCondensation.getVersion):
+// the first request with a newer version drops every entry, and requests with an older version are
+// computed without touching the cache.
+// Counters: dag.cache.hits, dag.cache.misses, dag.cache.evictions, dag.cache.invalidations, plus the
+// current size as dag.cache.bytes. All methods are synchronized; computations run outside the lock.
+public class SPResultCache {
+    // Approximate object headers and key of one entry.
+    static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, SPResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long version = Long.MIN_VALUE;
+
+    // Initializes an empty cache holding at most maxBytes.
+    public SPResultCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must be non-negative");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    // Returns the cached result, computing and storing it on a miss.
+    public SPResult getOrCompute(long graphVersion, int sourceNode, String weightModel, boolean longest,
+                                 Supplier<SPResult> compute, Metrics metrics) {
+        SPResult cached = get(graphVersion, sourceNode, weightModel, longest, metrics);
+        if (cached != null) {
+            return cached;
+        }
+        SPResult result = compute.get();
+        put(graphVersion, sourceNode, weightModel, longest, result, metrics);
+        return result;
+    }
+
+    // Returns the cached result or null, counting a hit or a miss.
+    public synchronized SPResult get(long graphVersion, int sourceNode, String weightModel, boolean longest,
+                                     Metrics metrics) {
+        advance(graphVersion, metrics);
+        SPResult result = graphVersion == version
+                ? entries.get(new Key(graphVersion, sourceNode, weightModel, longest))
+                : null;
+        if (metrics != null) {
+            metrics.inc(result != null ? "dag.cache.hits" : "dag.cache.misses");
+        }
+        return result;
+    }
+
+    // Stores a result for the current version, evicting least recently used entries as needed.
+    public synchronized void put(long graphVersion, int sourceNode, String weightModel, boolean longest,
+                                 SPResult result, Metrics metrics) {
+        advance(graphVersion, metrics);
+        long size = sizeOf(result);
+        if (graphVersion != version || size > maxBytes) {
+            return;
+        }
+        SPResult previous = entries.put(new Key(graphVersion, sourceNode, weightModel, longest), result);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += size;
+        long evicted = 0L;
+        Iterator<SPResult> eldest = entries.values().iterator();
+        while (bytes > maxBytes) {
+            bytes -= sizeOf(eldest.next());
+            eldest.remove();
+            evicted++;
+        }
+        if (metrics != null) {
+            metrics.incBy("dag.cache.evictions", evicted);
+            metrics.putLong("dag.cache.bytes", bytes);
+        }
+    }
+
+    // Drops every entry.
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0L;
+    }
+
+    // Returns the number of cached results.
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Returns the bytes currently accounted to cached results.
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    // Bytes accounted to one cached result.
+    static long sizeOf(SPResult result) {
+        long size = ENTRY_OVERHEAD_BYTES;
+        if (result.componentDistance != null) {
+            size += 8L * result.componentDistance.length;
+        }
+        if (result.parentComponent != null) {
+            size += 4L * result.parentComponent.length;
+        }
+        return size;
+    }
+
+    // Moves to a newer graph version, dropping all entries of the old one.
+    private void advance(long graphVersion, Metrics metrics) {
+        if (graphVersion <= version) {
+            return;
+        }
+        if (!entries.isEmpty() && metrics != null) {
+            metrics.incBy("dag.cache.invalidations", entries.size());
+        }
+        clear();
+        version = graphVersion;
+        if (metrics != null) {
+            metrics.putLong("dag.cache.bytes", 0L);
+        }
+    }
+
+    private static final class Key {
+        final long version;
+        final int source;
+        final String weightModel;
+        final boolean longest;
+
+        Key(long version, int source, String weightModel, boolean longest) {
+            this.version = version;
+            this.source = source;
+            this.weightModel = weightModel;
+            this.longest = longest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return version == other.version && source == other.source && longest == other.longest
+                    && Objects.equals(weightModel, other.weightModel);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, source, weightModel, longest);
+        }
+    }
+}
@@ -1,13 +1,12 @@
 package graph.dagsp;
 
 import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
 import graph.model.Graph;
 import graph.topo.TopoResult;
 import metrics.Metrics;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 // Finds the shortest paths in the Condensation Graph.
 public class ShortestPaths {
@@ -33,8 +32,9 @@ public class ShortestPaths {
         }
 
         // Precalculate component weights  and edge weights.
-        long[] componentWeight = ComponentUtils.buildComponentWeight(condensationResult, graph);
-        List<Map<Integer, Integer>> componentEdgeWeight = ComponentUtils.buildComponentEdgeWeight(condensationResult, graph);
+        CsrGraph csr = graph.getCsr();
+        long[] componentWeight = ComponentUtils.buildComponentWeight(condensationResult, csr);
+        int[] componentEdgeWeight = ComponentUtils.buildComponentEdgeWeights(condensationResult, csr);
 
         // Initialize distances and parent arrays.
         long[] dist = new long[k];
@@ -52,7 +52,12 @@ public class ShortestPaths {
         }
 
         List<Integer> componentOrder = topo.getComponentOrder();
-        List<Set<Integer>> adj = condensationResult.getAdjacentComponents();
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        // Resolve the weight model once instead of per relaxation.
+        boolean nodeModel = "node".equalsIgnoreCase(weightModel);
+        long relaxations = 0L;
 
         // Iterate through components in topological order to relax edges.
         for(int component : componentOrder){
@@ -60,34 +65,22 @@ public class ShortestPaths {
                 continue; // Skip unreachable components.
             }
             // Relax outgoing edges from the current component.
-            for(int to : adj.get(component)){
-                if(metrics != null){
-                    metrics.inc("dag.relaxations");
-                }
-                long weight;
+            for(int e = offsets[component]; e < offsets[component + 1]; e++){
+                int to = targets[e];
+                relaxations++;
                 // Determine the weight of the edge.
-                if("node".equalsIgnoreCase(weightModel)){
-                    weight = componentWeight[to];
-                }else{
-                    Map<Integer,Integer> inner = componentEdgeWeight.get(component);
-                    Integer edgeWeight = (inner == null) ? null : inner.get(to);
-                    if(edgeWeight == null){
-                        edgeWeight = 0;
-                    }
-                    weight = edgeWeight;
-                }
+                long weight = nodeModel ? componentWeight[to] : componentEdgeWeight[e];
                 long candidate = dist[component] + weight;
                 // Relaxation step: check for shorter path.
                 if(candidate < dist[to]){
                     dist[to] = candidate;
                     parent[to] = component;
-                    if(metrics != null){
-                        metrics.inc("dag.relaxations");
-                    }
+                    relaxations++;
                 }
             }
         }
         if(metrics != null){
+            metrics.incBy("dag.relaxations", relaxations);
             metrics.stopTimer();
             metrics.putLong("dag.time.nanos", metrics.getElapsedNanos());
         }
@@ -0,0 +1,194 @@
+package graph.model;
+
+import java.util.Arrays;
+
+// Compressed sparse row (CSR) form of a directed graph.
+// Out-edges of node u are stored at positions offsets[u] .. offsets[u + 1] - 1 of targets/weights.
+public class CsrGraph {
+    private final int n; // Number of nodes
+    private final int[] offsets; // Row start per node, length n + 1
+    private final int[] targets; // Edge end node per edge position
+    private final int[] weights; // Edge weight per edge position, 0 where none was given
+    private final int[] durations; // Node duration per node ID, 0 where none was given
+
+    // Reverse (in-edge) graph, built on first request.
+    private CsrGraph reverse;
+
+    // Wraps already built CSR arrays.
+    public CsrGraph(int n, int[] offsets, int[] targets, int[] weights, int[] durations) {
+        if (offsets.length != n + 1) {
+            throw new IllegalArgumentException("offsets must have length n + 1");
+        }
+        if (targets.length != offsets[n] || weights.length != offsets[n] || durations.length != n) {
+            throw new IllegalArgumentException("CSR arrays do not match offsets");
+        }
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.durations = durations;
+    }
+
+    // Builds the CSR form of a Graph with a counting sort over its edge list.
+    public static CsrGraph fromGraph(Graph graph) {
+        int n = graph.getN();
+        int m = graph.getEdges().size();
+        int[] us = new int[m];
+        int[] vs = new int[m];
+        int[] ws = new int[m];
+        int i = 0;
+        for (Edge edge : graph.getEdges()) {
+            us[i] = edge.getU();
+            vs[i] = edge.getV();
+            ws[i] = edge.getWeight() == null ? 0 : edge.getWeight();
+            i++;
+        }
+        int[] durations = new int[n];
+        for (Node node : graph.getNodes()) {
+            int id = node.getId();
+            if (id >= 0 && id < n && node.getDuration() != null) {
+                durations[id] = node.getDuration();
+            }
+        }
+        return fromEdgeArrays(n, us, vs, ws, m, durations);
+    }
+
+    // Builds a CSR graph from the first m entries of parallel edge arrays.
+    // Edges with an endpoint outside [0, n) are skipped; the input order is kept within each row.
+    public static CsrGraph fromEdgeArrays(int n, int[] us, int[] vs, int[] ws, int m, int[] durations) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            int u = us[i];
+            int v = vs[i];
+            // Basic bounds checking
+            if (u >= 0 && v >= 0 && u < n && v < n) {
+                offsets[u + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        int edgeCount = offsets[n];
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < m; i++) {
+            int u = us[i];
+            int v = vs[i];
+            if (u >= 0 && v >= 0 && u < n && v < n) {
+                int position = cursor[u]++;
+                targets[position] = v;
+                weights[position] = ws == null ? 0 : ws[i];
+            }
+        }
+        return new CsrGraph(n, offsets, targets, weights, durations == null ? new int[n] : durations);
+    }
+
+    // Returns the number of nodes.
+    public int getN() {
+        return n;
+    }
+
+    // Returns the number of stored edges.
+    public int getEdgeCount() {
+        return offsets[n];
+    }
+
+    // Returns the row offsets (length n + 1). The array is shared, do not modify it.
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    // Returns the edge targets. The array is shared, do not modify it.
+    public int[] getTargets() {
+        return targets;
+    }
+
+    // Returns the edge weights, aligned with getTargets(). The array is shared, do not modify it.
+    public int[] getWeights() {
+        return weights;
+    }
+
+    // Returns the node durations indexed by node ID. The array is shared, do not modify it.
+    public int[] getDurations() {
+        return durations;
+    }
+
+    // Returns the number of out-edges of node u.
+    public int outDegree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    // Returns the reverse graph (every edge u->v becomes v->u with the same weight).
+    // Built once on first call and cached; rows keep the forward edge order.
+    public synchronized CsrGraph reverse() {
+        if (reverse == null) {
+            int edgeCount = offsets[n];
+            int[] reverseOffsets = new int[n + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                reverseOffsets[targets[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                reverseOffsets[v + 1] += reverseOffsets[v];
+            }
+            int[] reverseTargets = new int[edgeCount];
+            int[] reverseWeights = new int[edgeCount];
+            int[] cursor = Arrays.copyOf(reverseOffsets, n);
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int position = cursor[targets[e]]++;
+                    reverseTargets[position] = u;
+                    reverseWeights[position] = weights[e];
+                }
+            }
+            reverse = new CsrGraph(n, reverseOffsets, reverseTargets, reverseWeights, durations);
+            reverse.reverse = this;
+        }
+        return reverse;
+    }
+
+    // Returns the subgraph induced by nodes[0 .. count). Node nodes[i] becomes node i of the result;
+    // only edges with both endpoints in the set are kept, with their weights and the node durations.
+    public CsrGraph inducedSubgraph(int[] nodes, int count) {
+        int[] localId = new int[n];
+        Arrays.fill(localId, -1);
+        for (int i = 0; i < count; i++) {
+            localId[nodes[i]] = i;
+        }
+        int[] subOffsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            int u = nodes[i];
+            int degree = 0;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (localId[targets[e]] != -1) {
+                    degree++;
+                }
+            }
+            subOffsets[i + 1] = subOffsets[i] + degree;
+        }
+        int[] subTargets = new int[subOffsets[count]];
+        int[] subWeights = new int[subOffsets[count]];
+        int[] subDurations = new int[count];
+        for (int i = 0; i < count; i++) {
+            int u = nodes[i];
+            int position = subOffsets[i];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = localId[targets[e]];
+                if (v != -1) {
+                    subTargets[position] = v;
+                    subWeights[position] = weights[e];
+                    position++;
+                }
+            }
+            subDurations[i] = durations[u];
+        }
+        return new CsrGraph(count, subOffsets, subTargets, subWeights, subDurations);
+    }
+
+    // String representation of the CSR graph.
+    @Override
+    public String toString() {
+        return "CsrGraph{n=" + n + ", edges=" + getEdgeCount() + "}";
+    }
+}
@@ -11,6 +11,7 @@ public class Graph {
     private final List<Edge> edges; // List of all edges
     private final Integer source;
     private final String weightModel;
+    private CsrGraph csr; // Primitive CSR form, built on first request
 
     // Constructor to initialize the graph structure.
     public Graph(boolean directed, int n, List<Node> nodes, List<Edge> edges, Integer source, String weightModel) {
@@ -52,6 +53,14 @@ public class Graph {
         return weightModel;
     }
 
+    // Returns the CSR form of this graph, building it once on first call.
+    public synchronized CsrGraph getCsr() {
+        if (csr == null) {
+            csr = CsrGraph.fromGraph(this);
+        }
+        return csr;
+    }
+
     // String representation of the Graph object.
     @Override
     public String toString() {
@@ -0,0 +1,420 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import metrics.Metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Parallel SCC decomposition (forward-backward with trimming) running on a ForkJoinPool.
+//
+// Every node carries a label naming the subproblem it belongs to. A subproblem is first trimmed
+// (nodes without an in- or out-neighbor inside the subproblem are singleton SCCs), then a pivot is
+// chosen and its forward and backward reachable sets are computed with level-synchronous parallel
+// BFS that claims nodes by CAS on the label. The intersection is one SCC; the three remaining parts
+// (forward only, backward only, neither) are independent subproblems solved in parallel.
+// Small subproblems are handed to IterativeTarjan on their induced subgraph.
+//
+// The partition is the same as Tarjan's. Component IDs are renumbered by smallest member node ID,
+// so the result is deterministic regardless of scheduling.
+public class ParallelScc {
+    private static final VarHandle LABEL = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int DONE = -1; // Label of nodes whose component is already assigned
+    private static final int NO_LABEL = Integer.MIN_VALUE; // Matches no node
+    private static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 14; // Subproblems up to this size use Tarjan
+    private static final int PARALLEL_GRAIN = 1 << 11; // Nodes per leaf task in parallel loops
+    private static final int TRIM_ROUNDS = 4; // Trim rounds per subproblem before falling back to FB
+    private static final int FLUSH_SIZE = 256; // Local buffer size before publishing to a shared array
+
+    private final CsrGraph graph;
+    private final int parallelism;
+    private final int sequentialThreshold;
+
+    // Per-run state
+    private CsrGraph reverse;
+    private int[] label;
+    private int[] componentOf;
+    private int[] localIndex; // Scratch for induced subgraphs; each slot is written only by the owning task
+    private AtomicInteger nextLabel;
+    private AtomicInteger nextComponent;
+    private AtomicLong trimmed;
+    private AtomicLong pivots;
+    private AtomicLong sequentialTasks;
+
+    // Initializes the algorithm on the graph's CSR form.
+    public ParallelScc(Graph graph, int parallelism) {
+        this(graph.getCsr(), parallelism);
+    }
+
+    // Initializes the algorithm on an already built CSR graph with the given parallelism level.
+    public ParallelScc(CsrGraph graph, int parallelism) {
+        this(graph, parallelism, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    // Allows tests to force the forward-backward path on small graphs.
+    ParallelScc(CsrGraph graph, int parallelism, int sequentialThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.graph = graph;
+        this.parallelism = parallelism;
+        this.sequentialThreshold = Math.max(1, sequentialThreshold);
+    }
+
+    // Finds all Strongly Connected Components of the graph.
+    public SccResult findSCCs(Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+
+        int n = graph.getN();
+        label = new int[n]; // Everything starts in subproblem 0
+        componentOf = new int[n];
+        localIndex = new int[n];
+        nextLabel = new AtomicInteger(1);
+        nextComponent = new AtomicInteger(0);
+        trimmed = new AtomicLong();
+        pivots = new AtomicLong();
+        sequentialTasks = new AtomicLong();
+        reverse = graph.reverse(); // Build the reverse CSR once, before workers need it
+
+        int[] all = new int[n];
+        for (int i = 0; i < n; i++) {
+            all[i] = i;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new Subproblem(all, 0));
+        } finally {
+            pool.shutdown();
+        }
+
+        SccResult result = renumber(n, nextComponent.get());
+
+        if (metrics != null) {
+            metrics.incBy("scc.parallel.trimmed", trimmed.get());
+            metrics.incBy("scc.parallel.pivots", pivots.get());
+            metrics.incBy("scc.parallel.sequential.tasks", sequentialTasks.get());
+            // label, componentOf, localIndex, root node list, grouped output (+ reverse CSR);
+            // per-subproblem frontier buffers come on top of this
+            metrics.putLong("scc.memory.bytes", 4L * 4 * n + 4L * (2L * n + 1)
+                    + 4L * (n + 1L + reverse.getEdgeCount()));
+            metrics.stopTimer();
+            metrics.putLong("time.scc", metrics.getElapsedNanos());
+        }
+        label = null;
+        localIndex = null;
+        return result;
+    }
+
+    // Renumbers components by their smallest member and groups members with a counting sort.
+    private SccResult renumber(int n, int rawCount) {
+        int[] newId = new int[rawCount];
+        Arrays.fill(newId, -1);
+        int k = 0;
+        for (int node = 0; node < n; node++) {
+            int raw = componentOf[node];
+            if (newId[raw] == -1) {
+                newId[raw] = k++;
+            }
+            componentOf[node] = newId[raw];
+        }
+        return SccResult.fromComponentOf(componentOf, k);
+    }
+
+    // One subproblem: exactly the given nodes carry the given label.
+    private final class Subproblem extends RecursiveAction {
+        private final int[] nodes;
+        private final int subLabel;
+
+        Subproblem(int[] nodes, int subLabel) {
+            this.nodes = nodes;
+            this.subLabel = subLabel;
+        }
+
+        @Override
+        protected void compute() {
+            int[] remaining = trim(nodes, subLabel);
+            if (remaining.length == 0) {
+                return;
+            }
+            if (remaining.length <= sequentialThreshold) {
+                solveSequentially(remaining, subLabel);
+                return;
+            }
+
+            pivots.incrementAndGet();
+            int pivot = remaining[remaining.length / 2];
+            int forwardLabel = nextLabel.getAndAdd(3);
+            int backwardLabel = forwardLabel + 1;
+            int sccLabel = forwardLabel + 2;
+
+            // Forward: subLabel -> forwardLabel. Backward: forwardLabel -> sccLabel, subLabel -> backwardLabel.
+            int[] frontier = new int[remaining.length];
+            int[] next = new int[remaining.length];
+            reach(graph, pivot, subLabel, forwardLabel, NO_LABEL, NO_LABEL, frontier, next);
+            reach(reverse, pivot, forwardLabel, sccLabel, subLabel, backwardLabel, frontier, next);
+
+            // Split the subproblem by the labels the two searches left behind.
+            int forwardCount = 0, backwardCount = 0, restCount = 0;
+            int component = nextComponent.getAndIncrement();
+            for (int x : remaining) {
+                int l = label[x];
+                if (l == sccLabel) {
+                    componentOf[x] = component;
+                    label[x] = DONE;
+                } else if (l == forwardLabel) {
+                    frontier[forwardCount++] = x;
+                } else if (l == backwardLabel) {
+                    next[backwardCount++] = x;
+                } else {
+                    restCount++;
+                }
+            }
+            int[] rest = new int[restCount];
+            restCount = 0;
+            for (int x : remaining) {
+                if (label[x] == subLabel) {
+                    rest[restCount++] = x;
+                }
+            }
+            ForkJoinTask.invokeAll(
+                    new Subproblem(Arrays.copyOf(frontier, forwardCount), forwardLabel),
+                    new Subproblem(Arrays.copyOf(next, backwardCount), backwardLabel),
+                    new Subproblem(rest, subLabel));
+        }
+    }
+
+    // Repeatedly removes nodes without an in- or out-neighbor inside the subproblem.
+    // Each removed node is a singleton SCC. Returns the nodes that are left.
+    private int[] trim(int[] nodes, int subLabel) {
+        int[] live = nodes;
+        for (int round = 0; round < TRIM_ROUNDS && live.length > 0; round++) {
+            boolean[] removed = new boolean[live.length];
+            AtomicInteger removedCount = new AtomicInteger();
+            forRange(live.length, new TrimBody(live, subLabel, removed, removedCount));
+            int count = removedCount.get();
+            if (count == 0) {
+                break;
+            }
+            trimmed.addAndGet(count);
+            int base = nextComponent.getAndAdd(count);
+            int[] kept = new int[live.length - count];
+            int keptCount = 0;
+            for (int i = 0; i < live.length; i++) {
+                if (removed[i]) {
+                    componentOf[live[i]] = base++;
+                } else {
+                    kept[keptCount++] = live[i];
+                }
+            }
+            live = kept;
+        }
+        return live;
+    }
+
+    // Trim check for a range of positions in the live node list.
+    private final class TrimBody implements RangeBody {
+        private final int[] live;
+        private final int subLabel;
+        private final boolean[] removed;
+        private final AtomicInteger removedCount;
+
+        TrimBody(int[] live, int subLabel, boolean[] removed, AtomicInteger removedCount) {
+            this.live = live;
+            this.subLabel = subLabel;
+            this.removed = removed;
+            this.removedCount = removedCount;
+        }
+
+        @Override
+        public void run(int from, int to) {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int x = live[i];
+                if (!hasNeighborInSubproblem(graph, x, subLabel)
+                        || !hasNeighborInSubproblem(reverse, x, subLabel)) {
+                    LABEL.setVolatile(label, x, DONE);
+                    removed[i] = true;
+                    count++;
+                }
+            }
+            removedCount.addAndGet(count);
+        }
+    }
+
+    // Returns true if x has an edge to another node of the subproblem in the given direction.
+    private boolean hasNeighborInSubproblem(CsrGraph direction, int x, int subLabel) {
+        int[] offsets = direction.getOffsets();
+        int[] targets = direction.getTargets();
+        for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+            int y = targets[e];
+            if (y != x && (int) LABEL.getVolatile(label, y) == subLabel) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Level-synchronous BFS from start over the given direction. A node is visited when its label is
+    // atomically switched from firstFrom to firstTo, or from secondFrom to secondTo.
+    // frontier and next are scratch buffers large enough to hold the whole subproblem.
+    private void reach(CsrGraph direction, int start, int firstFrom, int firstTo, int secondFrom, int secondTo,
+                       int[] frontier, int[] next) {
+        if (!claim(start, firstFrom, firstTo, secondFrom, secondTo)) {
+            return;
+        }
+        int[] current = frontier;
+        int[] upcoming = next;
+        current[0] = start;
+        int size = 1;
+        while (size > 0) {
+            AtomicInteger upcomingSize = new AtomicInteger();
+            forRange(size, new ExpandBody(direction, current, upcoming, upcomingSize,
+                    firstFrom, firstTo, secondFrom, secondTo));
+            size = upcomingSize.get();
+            int[] swap = current;
+            current = upcoming;
+            upcoming = swap;
+        }
+    }
+
+    // Atomically moves x from one of the two source labels to the matching target label.
+    private boolean claim(int x, int firstFrom, int firstTo, int secondFrom, int secondTo) {
+        return LABEL.compareAndSet(label, x, firstFrom, firstTo)
+                || (secondFrom != NO_LABEL && LABEL.compareAndSet(label, x, secondFrom, secondTo));
+    }
+
+    // Expands a range of the current BFS frontier into the shared next frontier.
+    private final class ExpandBody implements RangeBody {
+        private final CsrGraph direction;
+        private final int[] current;
+        private final int[] upcoming;
+        private final AtomicInteger upcomingSize;
+        private final int firstFrom, firstTo, secondFrom, secondTo;
+
+        ExpandBody(CsrGraph direction, int[] current, int[] upcoming, AtomicInteger upcomingSize,
+                   int firstFrom, int firstTo, int secondFrom, int secondTo) {
+            this.direction = direction;
+            this.current = current;
+            this.upcoming = upcoming;
+            this.upcomingSize = upcomingSize;
+            this.firstFrom = firstFrom;
+            this.firstTo = firstTo;
+            this.secondFrom = secondFrom;
+            this.secondTo = secondTo;
+        }
+
+        @Override
+        public void run(int from, int to) {
+            int[] offsets = direction.getOffsets();
+            int[] targets = direction.getTargets();
+            int[] buffer = new int[FLUSH_SIZE];
+            int buffered = 0;
+            for (int i = from; i < to; i++) {
+                int x = current[i];
+                for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                    int y = targets[e];
+                    if (claim(y, firstFrom, firstTo, secondFrom, secondTo)) {
+                        buffer[buffered++] = y;
+                        if (buffered == FLUSH_SIZE) {
+                            System.arraycopy(buffer, 0, upcoming, upcomingSize.getAndAdd(buffered), buffered);
+                            buffered = 0;
+                        }
+                    }
+                }
+            }
+            if (buffered > 0) {
+                System.arraycopy(buffer, 0, upcoming, upcomingSize.getAndAdd(buffered), buffered);
+            }
+        }
+    }
+
+    // Runs IterativeTarjan on the subgraph induced by the nodes of a small subproblem.
+    private void solveSequentially(int[] nodes, int subLabel) {
+        sequentialTasks.incrementAndGet();
+        int size = nodes.length;
+        for (int i = 0; i < size; i++) {
+            localIndex[nodes[i]] = i;
+        }
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        // Only nodes of this subproblem carry subLabel, so other tasks' writes never match it.
+        int[] localOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int x = nodes[i];
+            int degree = 0;
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                if ((int) LABEL.getOpaque(label, targets[e]) == subLabel) {
+                    degree++;
+                }
+            }
+            localOffsets[i + 1] = localOffsets[i] + degree;
+        }
+        int[] localTargets = new int[localOffsets[size]];
+        for (int i = 0; i < size; i++) {
+            int x = nodes[i];
+            int position = localOffsets[i];
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                int y = targets[e];
+                if ((int) LABEL.getOpaque(label, y) == subLabel) {
+                    localTargets[position++] = localIndex[y];
+                }
+            }
+        }
+
+        CsrGraph subgraph = new CsrGraph(size, localOffsets, localTargets, new int[localTargets.length], new int[size]);
+        SccResult local = new IterativeTarjan(subgraph).findSCCs(null);
+        int base = nextComponent.getAndAdd(local.getComponentCount());
+        int[] localComponentOf = local.getComponentOf();
+        for (int i = 0; i < size; i++) {
+            componentOf[nodes[i]] = base + localComponentOf[i];
+            label[nodes[i]] = DONE;
+        }
+    }
+
+    // Body of a parallel loop over [from, to).
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    // Runs body over [0, length), splitting into ForkJoin tasks when the range is large.
+    private static void forRange(int length, RangeBody body) {
+        if (length <= PARALLEL_GRAIN) {
+            body.run(0, length);
+        } else {
+            ForkJoinTask.invokeAll(new RangeTask(body, 0, length));
+        }
+    }
+
+    // Recursive splitter for forRange.
+    private static final class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int from;
+        private final int to;
+
+        RangeTask(RangeBody body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_GRAIN) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(body, from, mid), new RangeTask(body, mid, to));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+import metrics.Metrics;
+
+// Pearce's space-efficient variant of Tarjan's algorithm (iterative form).
+// A single rindex array replaces disc[], low[], onStack[] and componentOf[]: while a node is active it
+// holds its (low-linked) visitation index, and once its component is complete it holds the component
+// number, counted down from n. One bit per node marks candidate roots. The DFS call stack and the
+// stack of pending component members share one int array, growing from opposite ends.
+// Components are numbered in the same (reverse topological) order as Tarjan.
+public class PearceScc implements SccAlgorithm {
+
+    @Override
+    public String getName() {
+        return SccAlgorithms.PEARCE;
+    }
+
+    @Override
+    public SccResult findSCCs(CsrGraph graph, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+
+        int n = graph.getN();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] rindex = new int[n]; // 0 = unvisited
+        long[] root = new long[(n + 63) >>> 6]; // Root candidate bit per node
+        int[] stack = new int[n]; // Call stack from the bottom, pending members from the top
+        int[] cursor = new int[n]; // Edge cursor per call stack depth
+
+        int index = 1;
+        int component = n; // Next component number; active indices always stay <= component
+        int callTop = 0;
+        int pendingTop = n;
+        long edgesScanned = 0L;
+
+        for (int start = 0; start < n; start++) {
+            if (rindex[start] != 0) {
+                continue;
+            }
+            // Begin visiting start
+            rindex[start] = index++;
+            root[start >>> 6] |= 1L << start;
+            cursor[callTop] = offsets[start];
+            stack[callTop++] = start;
+
+            while (callTop > 0) {
+                int depth = callTop - 1;
+                int v = stack[depth];
+                if (cursor[depth] < offsets[v + 1]) {
+                    int w = targets[cursor[depth]];
+                    if (rindex[w] == 0) {
+                        // Begin visiting w; this edge is examined again once w is finished
+                        rindex[w] = index++;
+                        root[w >>> 6] |= 1L << w;
+                        cursor[callTop] = offsets[w];
+                        stack[callTop++] = w;
+                        continue;
+                    }
+                    edgesScanned++;
+                    // Finish edge v->w
+                    if (rindex[w] < rindex[v]) {
+                        rindex[v] = rindex[w];
+                        root[v >>> 6] &= ~(1L << v);
+                    }
+                    cursor[depth]++;
+                    continue;
+                }
+
+                // Finish visiting v
+                callTop--;
+                if ((root[v >>> 6] & (1L << v)) != 0) {
+                    index--;
+                    while (pendingTop < n && rindex[v] <= rindex[stack[pendingTop]]) {
+                        int w = stack[pendingTop++];
+                        rindex[w] = component;
+                        index--;
+                    }
+                    rindex[v] = component;
+                    component--;
+                } else {
+                    stack[--pendingTop] = v;
+                }
+            }
+        }
+
+        // Component numbers count down from n; turn them into IDs 0..k-1 in place.
+        int componentCount = n - component;
+        for (int v = 0; v < n; v++) {
+            rindex[v] = n - rindex[v];
+        }
+
+        if (metrics != null) {
+            metrics.incBy("scc.dfs.visits", n);
+            metrics.incBy("scc.dfs.edges", edgesScanned);
+            // rindex, stack, cursor, root bits, plus the grouped output (offsets, members)
+            metrics.putLong("scc.memory.bytes", 3L * 4 * n + 8L * root.length + 4L * (2L * n + 1));
+            metrics.stopTimer();
+            metrics.putLong("time.scc", metrics.getElapsedNanos());
+        }
+
+        return SccResult.fromComponentOf(rindex, componentCount, SccOrder.REVERSE_TOPOLOGICAL);
+    }
+}
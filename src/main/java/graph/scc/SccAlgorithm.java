@@ -0,0 +1,11 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+import metrics.Metrics;
+
+// Interface SccAlgorithm: common entry point for the SCC engines so the pipeline can pick one per dataset.
+// Implementations record "time.scc" and "scc.memory.bytes" (working arrays allocated by the run).
+public interface SccAlgorithm {
+    String getName();
+    SccResult findSCCs(CsrGraph graph, Metrics metrics);
+}
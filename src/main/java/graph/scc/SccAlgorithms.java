@@ -0,0 +1,91 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Registry of the available SCC engines, selectable by name.
+public final class SccAlgorithms {
+    public static final String TARJAN = "tarjan"; // IterativeTarjan
+    public static final String TARJAN_RECURSIVE = "tarjan-recursive"; // Original recursive Tarjan
+    public static final String KOSARAJU = "kosaraju";
+    public static final String PEARCE = "pearce";
+    public static final String TRIM_TARJAN = "trim-tarjan"; // SccTrimmer ahead of IterativeTarjan
+    public static final String PARALLEL = "parallel"; // ParallelScc
+
+    private static final List<String> NAMES = Collections.unmodifiableList(
+            Arrays.asList(TARJAN, TARJAN_RECURSIVE, KOSARAJU, PEARCE, TRIM_TARJAN, PARALLEL));
+
+    private SccAlgorithms() {
+    }
+
+    // Returns the names accepted by byName.
+    public static List<String> names() {
+        return NAMES;
+    }
+
+    // Returns the algorithm registered under the given name (case-insensitive).
+    // parallelism is only used by the parallel engine.
+    public static SccAlgorithm byName(String name, int parallelism) {
+        String key = name == null ? TARJAN : name.trim().toLowerCase();
+        switch (key) {
+            case TARJAN:
+                return new Adapter(TARJAN) {
+                    @Override
+                    public SccResult findSCCs(CsrGraph graph, Metrics metrics) {
+                        return new IterativeTarjan(graph).findSCCs(metrics);
+                    }
+                };
+            case TARJAN_RECURSIVE:
+                return new Adapter(TARJAN_RECURSIVE) {
+                    @Override
+                    public SccResult findSCCs(CsrGraph graph, Metrics metrics) {
+                        // Tarjan records time.scc and scc.memory.bytes (disc, low, onStack and stack).
+                        return SccResult.fromComponentList(new Tarjan(graph).findSCCs(metrics), graph.getN(),
+                                SccOrder.REVERSE_TOPOLOGICAL);
+                    }
+                };
+            case KOSARAJU:
+                return new KosarajuScc();
+            case PEARCE:
+                return new PearceScc();
+            case TRIM_TARJAN:
+                return new TrimmedSccAlgorithm(TRIM_TARJAN, byName(TARJAN, parallelism));
+            case PARALLEL:
+                return new Adapter(PARALLEL) {
+                    @Override
+                    public SccResult findSCCs(CsrGraph graph, Metrics metrics) {
+                        return new ParallelScc(graph, parallelism).findSCCs(metrics);
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("Unknown SCC algorithm '" + name + "', expected one of " + NAMES);
+        }
+    }
+
+    // Returns byName(name, parallelism), wrapped in the trimming pre-pass when trim is true.
+    public static SccAlgorithm byName(String name, int parallelism, boolean trim) {
+        SccAlgorithm algorithm = byName(name, parallelism);
+        if (trim && !(algorithm instanceof TrimmedSccAlgorithm)) {
+            return new TrimmedSccAlgorithm(algorithm);
+        }
+        return algorithm;
+    }
+
+    // Base for engines whose classes are bound to one graph at construction.
+    private abstract static class Adapter implements SccAlgorithm {
+        private final String name;
+
+        Adapter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
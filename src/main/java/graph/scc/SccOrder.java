@@ -0,0 +1,11 @@
+package graph.scc;
+
+// What an SCC engine guarantees about the numbering of its components.
+public enum SccOrder {
+    // Every condensation edge goes from a higher to a lower component ID (Tarjan's emission order).
+    REVERSE_TOPOLOGICAL,
+    // Every condensation edge goes from a lower to a higher component ID.
+    TOPOLOGICAL,
+    // No guarantee; a topological sort is needed.
+    UNORDERED
+}
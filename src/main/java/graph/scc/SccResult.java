@@ -0,0 +1,125 @@
+package graph.scc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Flat, primitive result of an SCC decomposition.
+// Members of component c are members[componentOffsets[c] .. componentOffsets[c + 1]).
+// getOrder() tells whether the component IDs already form a (reverse) topological order.
+public class SccResult {
+    private final int[] componentOf; // Node ID -> component ID
+    private final int[] componentOffsets; // Component ID -> start in members, length k + 1
+    private final int[] members; // Node IDs grouped by component
+    private final SccOrder order; // Guarantee on the component numbering
+
+    // Initializes the result structure without an ordering guarantee.
+    public SccResult(int[] componentOf, int[] componentOffsets, int[] members) {
+        this(componentOf, componentOffsets, members, SccOrder.UNORDERED);
+    }
+
+    // Initializes the result structure with the engine's ordering guarantee.
+    public SccResult(int[] componentOf, int[] componentOffsets, int[] members, SccOrder order) {
+        this.componentOf = componentOf;
+        this.componentOffsets = componentOffsets;
+        this.members = members;
+        this.order = order;
+    }
+
+    // Builds the flat form from a List<List<Integer>> of components over nodes 0..n-1.
+    public static SccResult fromComponentList(List<List<Integer>> components, int n) {
+        return fromComponentList(components, n, SccOrder.UNORDERED);
+    }
+
+    // Builds the flat form from a List<List<Integer>> of components, recording the ordering guarantee.
+    public static SccResult fromComponentList(List<List<Integer>> components, int n, SccOrder order) {
+        int k = components.size();
+        int[] componentOf = new int[n];
+        int[] componentOffsets = new int[k + 1];
+        int[] members = new int[n];
+        int written = 0;
+        for (int c = 0; c < k; c++) {
+            componentOffsets[c] = written;
+            for (int node : components.get(c)) {
+                componentOf[node] = c;
+                members[written++] = node;
+            }
+        }
+        componentOffsets[k] = written;
+        return new SccResult(componentOf, componentOffsets, members, order);
+    }
+
+    // Builds the flat form from a componentOf array by grouping nodes with a counting sort.
+    // Members of each component are listed in increasing node ID.
+    public static SccResult fromComponentOf(int[] componentOf, int componentCount) {
+        return fromComponentOf(componentOf, componentCount, SccOrder.UNORDERED);
+    }
+
+    // Same as fromComponentOf(componentOf, componentCount), recording the ordering guarantee.
+    public static SccResult fromComponentOf(int[] componentOf, int componentCount, SccOrder order) {
+        int n = componentOf.length;
+        int[] componentOffsets = new int[componentCount + 1];
+        for (int node = 0; node < n; node++) {
+            componentOffsets[componentOf[node] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            componentOffsets[c + 1] += componentOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(componentOffsets, componentCount);
+        for (int node = 0; node < n; node++) {
+            members[cursor[componentOf[node]]++] = node;
+        }
+        return new SccResult(componentOf, componentOffsets, members, order);
+    }
+
+    // Returns the array mapping nodes to their component ID.
+    public int[] getComponentOf() {
+        return componentOf;
+    }
+
+    // Returns the component offsets into getMembers() (length k + 1).
+    public int[] getComponentOffsets() {
+        return componentOffsets;
+    }
+
+    // Returns the node IDs grouped by component.
+    public int[] getMembers() {
+        return members;
+    }
+
+    // Returns the guarantee on the component numbering.
+    public SccOrder getOrder() {
+        return order;
+    }
+
+    // Returns the total number of components.
+    public int getComponentCount() {
+        return componentOffsets.length - 1;
+    }
+
+    // Returns the number of nodes in component c.
+    public int componentSize(int c) {
+        return componentOffsets[c + 1] - componentOffsets[c];
+    }
+
+    // Converts to the List<List<Integer>> form used by CondensationBuilder.
+    public List<List<Integer>> toComponentList() {
+        int k = getComponentCount();
+        List<List<Integer>> components = new ArrayList<>(k);
+        for (int c = 0; c < k; c++) {
+            List<Integer> component = new ArrayList<>(componentSize(c));
+            for (int i = componentOffsets[c]; i < componentOffsets[c + 1]; i++) {
+                component.add(members[i]);
+            }
+            components.add(component);
+        }
+        return components;
+    }
+
+    // String representation of the result.
+    @Override
+    public String toString() {
+        return "SccResult{components=" + getComponentCount() + ", nodes=" + componentOf.length + "}";
+    }
+}
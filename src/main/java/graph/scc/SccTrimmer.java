@@ -0,0 +1,170 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+import metrics.Metrics;
+
+// Trivial-SCC trimming pass run ahead of an SCC engine.
+// Nodes whose in-degree or out-degree is zero cannot lie on a cycle, so each is its own component.
+// Removing them can zero further degrees, so peeling repeats through a queue until only the core is
+// left. Every node and edge is touched a constant number of times: O(n + m).
+//
+// assemble() keeps Tarjan's reverse topological numbering: nodes peeled as sinks first (in peel
+// order), then the core components, then nodes peeled as sources (in reverse peel order).
+public class SccTrimmer {
+    private final CsrGraph graph;
+
+    private int[] peelOrder; // Peeled nodes in removal order
+    private boolean[] peeledAsSink; // True if the node had no remaining out-edges when peeled
+    private boolean[] peeledFlag;
+    private int peeled;
+    private int sinkCount;
+    private int[] core; // Nodes left after peeling, in increasing ID order
+    private int coreSize;
+
+    // Initializes the trimmer for a graph.
+    public SccTrimmer(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    // Peels all trivially acyclic nodes. Records counts under "scc.trim.*" in metrics.
+    public void trim(Metrics metrics) {
+        long start = System.nanoTime();
+        int n = graph.getN();
+        CsrGraph reverse = graph.reverse();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] reverseOffsets = reverse.getOffsets();
+        int[] reverseTargets = reverse.getTargets();
+
+        // Degrees ignore self-loops: a node whose only cycle is a self-loop is still a singleton SCC.
+        int[] inDegree = new int[n];
+        int[] outDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (v != u) {
+                    outDegree[u]++;
+                    inDegree[v]++;
+                }
+            }
+        }
+
+        // Peel queue; queue[0 .. tail) is also the peel order.
+        int[] queue = new int[n];
+        boolean[] queued = new boolean[n];
+        int tail = 0;
+        for (int u = 0; u < n; u++) {
+            if (inDegree[u] == 0 || outDegree[u] == 0) {
+                queued[u] = true;
+                queue[tail++] = u;
+            }
+        }
+        boolean[] asSink = new boolean[n];
+        int sinks = 0;
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            // A node queued for in-degree 0 may have a stale out-degree; sink status is only
+            // claimed when every out-neighbor really is gone.
+            if (outDegree[u] == 0) {
+                asSink[u] = true;
+                sinks++;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (v != u && !queued[v] && --inDegree[v] == 0) {
+                    queued[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+            for (int e = reverseOffsets[u]; e < reverseOffsets[u + 1]; e++) {
+                int v = reverseTargets[e];
+                if (v != u && !queued[v] && --outDegree[v] == 0) {
+                    queued[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        // The degree arrays are no longer needed; reuse one as the core node list.
+        int[] coreNodes = inDegree;
+        int size = 0;
+        for (int u = 0; u < n; u++) {
+            if (!queued[u]) {
+                coreNodes[size++] = u;
+            }
+        }
+
+        this.peelOrder = queue;
+        this.peeledAsSink = asSink;
+        this.peeledFlag = queued;
+        this.peeled = tail;
+        this.sinkCount = sinks;
+        this.core = coreNodes;
+        this.coreSize = size;
+
+        if (metrics != null) {
+            metrics.incBy("scc.trim.nodes", tail);
+            metrics.incBy("scc.trim.sinks", sinks);
+            metrics.incBy("scc.trim.sources", tail - sinks);
+            metrics.incBy("scc.trim.core.nodes", size);
+            metrics.putLong("scc.trim.time.nanos", System.nanoTime() - start);
+        }
+    }
+
+    // Returns the number of peeled (singleton) nodes.
+    public int getPeeledCount() {
+        return peeled;
+    }
+
+    // Returns the core node IDs; only the first getCoreSize() entries are valid.
+    public int[] getCoreNodes() {
+        return core;
+    }
+
+    // Returns the number of core nodes.
+    public int getCoreSize() {
+        return coreSize;
+    }
+
+    // Returns true if node u was peeled.
+    public boolean isPeeled(int u) {
+        return peeledFlag[u];
+    }
+
+    // Returns the subgraph induced by the core; core node i is getCoreNodes()[i].
+    public CsrGraph coreSubgraph() {
+        return graph.inducedSubgraph(core, coreSize);
+    }
+
+    // Combines the peeled singletons with the components found on coreSubgraph().
+    public SccResult assemble(SccResult coreResult) {
+        int n = graph.getN();
+        int[] componentOf = new int[n];
+        int nextId = 0;
+        for (int i = 0; i < peeled; i++) {
+            if (peeledAsSink[peelOrder[i]]) {
+                componentOf[peelOrder[i]] = nextId++;
+            }
+        }
+        int[] coreComponentOf = coreResult.getComponentOf();
+        for (int i = 0; i < coreSize; i++) {
+            componentOf[core[i]] = sinkCount + coreComponentOf[i];
+        }
+        nextId = sinkCount + coreResult.getComponentCount();
+        for (int i = peeled - 1; i >= 0; i--) {
+            if (!peeledAsSink[peelOrder[i]]) {
+                componentOf[peelOrder[i]] = nextId++;
+            }
+        }
+        // Peeled nodes keep a reverse topological numbering around the core only if the core has one.
+        SccOrder order = coreResult.getOrder() == SccOrder.REVERSE_TOPOLOGICAL
+                ? SccOrder.REVERSE_TOPOLOGICAL : SccOrder.UNORDERED;
+        return SccResult.fromComponentOf(componentOf, nextId, order);
+    }
+
+    // Bytes held by the trimming pass (degrees, queue, flags), excluding the reverse CSR.
+    long memoryBytes() {
+        int n = graph.getN();
+        return 3L * 4 * n + 2L * n;
+    }
+}
@@ -1,6 +1,6 @@
 package graph.scc;
 
-import graph.model.Edge;
+import graph.model.CsrGraph;
 import graph.model.Graph;
 import metrics.Metrics;
 
@@ -8,42 +8,26 @@ import java.util.*;
 
 // Implements Tarjan's algorithm to find Strongly Connected Components (SCCs) in a directed graph.
 public class Tarjan {
-    private final Graph graph;
+    private final CsrGraph graph;
     // A list where each inner list represents an SCC.
     private final List<List<Integer>> components = new ArrayList<>();
 
-    // Adjacency list for efficient neighbor lookup.
-    private final List<List<Integer>> adj;
-
     // Helper variables for Tarjan's algorithm
     private int time;
     private int[] disc; // Discovery time of a node
     private int[] low; // Lowest disc-index reachable from a node u
     private boolean[] onStack;
     private Deque<Integer> stack; // Stack of nodes for forming SCCs
+    private int stackPeak; // Largest stack depth reached, for the memory estimate
 
-    // Initializes the graph and builds the adjacency list.
+    // Initializes the algorithm on the graph's CSR form.
     public Tarjan(Graph graph) {
-        this.graph = graph;
-        this.adj = buildAdj(graph);
+        this(graph.getCsr());
     }
 
-    // Builds the adjacency list from the graph's list of edges.
-    private List<List<Integer>> buildAdj(Graph graph) {
-        int n = graph.getN();
-        List<List<Integer>> adj = new ArrayList<>();
-        for (int i = 0; i < n; i++) {
-            adj.add(new ArrayList<>());
-        }
-        for(Edge edge : graph.getEdges()) {
-            int u = edge.getU();
-            int v = edge.getV();
-            // Basic bounds checking
-            if(u >= 0 && v >= 0 && u < n && v < n) {
-                adj.get(u).add(v);
-            }
-        }
-        return adj;
+    // Initializes the algorithm on an already built CSR graph.
+    public Tarjan(CsrGraph graph) {
+        this.graph = graph;
     }
 
     // Finds all Strongly Connected Components of the graph.
@@ -56,6 +40,7 @@ public class Tarjan {
         onStack = new boolean[n];
         stack = new ArrayDeque<>();
         time = 0;
+        stackPeak = 0;
         components.clear();
 
         if(metrics!=null) {
@@ -70,6 +55,9 @@ public class Tarjan {
         }
 
         if(metrics!=null) {
+            // disc and low (4 bytes each), onStack (1 byte) and the stack at its peak: a 4-byte reference
+            // plus a 16-byte boxed Integer per entry
+            metrics.putLong("scc.memory.bytes", 9L * n + 20L * stackPeak);
             metrics.stopTimer();
             metrics.putLong("time.scc", metrics.getElapsedNanos());
         }
@@ -88,12 +76,16 @@ public class Tarjan {
         // Push node u onto the stack and mark it as being on the stack
         stack.push(u);
         onStack[u] = true;
+        stackPeak = Math.max(stackPeak, stack.size());
         if(metrics!=null) {
             metrics.inc("scc.stack.push");
         }
 
         // Traverse all neighbors
-        for(int v : adj.get(u)) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        for(int e = offsets[u]; e < offsets[u + 1]; e++) {
+            int v = targets[e];
             if(metrics!=null) {
                 metrics.inc("scc.dfs.edges");
             }
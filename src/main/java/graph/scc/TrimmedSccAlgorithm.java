@@ -0,0 +1,45 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+import metrics.Metrics;
+
+// Runs SccTrimmer ahead of another SCC engine, which then only sees the remaining core.
+// "time.scc" covers trimming plus the inner engine; "scc.memory.bytes" adds the trimming arrays and
+// the reverse CSR to what the inner engine reports for the core.
+public class TrimmedSccAlgorithm implements SccAlgorithm {
+    private final String name;
+    private final SccAlgorithm inner;
+
+    // Wraps inner under the given name.
+    public TrimmedSccAlgorithm(String name, SccAlgorithm inner) {
+        this.name = name;
+        this.inner = inner;
+    }
+
+    // Wraps inner, naming the result "trim-" + inner name.
+    public TrimmedSccAlgorithm(SccAlgorithm inner) {
+        this("trim-" + inner.getName(), inner);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public SccResult findSCCs(CsrGraph graph, Metrics metrics) {
+        long start = System.nanoTime();
+        SccTrimmer trimmer = new SccTrimmer(graph);
+        trimmer.trim(metrics);
+
+        SccResult coreResult = inner.findSCCs(trimmer.coreSubgraph(), metrics);
+        SccResult result = trimmer.assemble(coreResult);
+
+        if (metrics != null) {
+            metrics.putLong("scc.memory.bytes", metrics.get("scc.memory.bytes") + trimmer.memoryBytes()
+                    + 4L * (graph.getN() + 1L + graph.getEdgeCount()));
+            metrics.putLong("time.scc", System.nanoTime() - start);
+        }
+        return result;
+    }
+}
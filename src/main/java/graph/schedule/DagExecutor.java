@@ -0,0 +1,235 @@
+package graph.schedule;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Runs one Runnable per node in-process, respecting the condensation DAG.
+// Each component has an atomic counter of unfinished predecessor components. A finished component
+// decrements its successors' counters and forks every successor whose counter reaches zero straight
+// into the work-stealing pool, so there is no global lock or central queue. The members of one
+// component (an SCC has no valid internal order) run one after another in ascending node order.
+// All component tasks are children of a root CountedCompleter, which completes with the last one.
+// If a Runnable throws, execute rethrows it (as ForkJoinTask.invoke does, possibly as a copy of the
+// same type): a shared flag stops every component that has not started its members yet and keeps
+// successors from being forked, and execute waits for the Runnables still running before it returns.
+// Timings are stored per slot by the thread that owns it and only read after completion. Metrics:
+// dag.exec.tasks, dag.exec.time.nanos, dag.exec.throughput (tasks/s), dag.exec.latency.total.nanos
+// and .max.nanos (Runnable run time), dag.exec.queue.wait.total.nanos and .max.nanos.
+public class DagExecutor {
+    private final int parallelism;
+
+    // Initializes the executor with the given number of worker threads.
+    public DagExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    // Runs tasks[node] for every node (null entries are skipped) and waits for all of them.
+    public ExecutionResult execute(CondensationResult condensationResult, Runnable[] tasks, Metrics metrics) {
+        int[] nodeToComponent = condensationResult.getNodeToComponent();
+        if (tasks.length != nodeToComponent.length) {
+            throw new IllegalArgumentException("one task per node is required");
+        }
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        int k = condensationResult.getComponentCount();
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+
+        // Members of each component, ascending, as flat arrays.
+        List<List<Integer>> components = condensationResult.getComponents();
+        int[] memberOffsets = new int[k + 1];
+        for (int c = 0; c < k; c++) {
+            memberOffsets[c + 1] = memberOffsets[c] + components.get(c).size();
+        }
+        int[] members = new int[memberOffsets[k]];
+        for (int c = 0; c < k; c++) {
+            int i = memberOffsets[c];
+            for (int node : components.get(c)) {
+                members[i++] = node;
+            }
+            Arrays.sort(members, memberOffsets[c], memberOffsets[c + 1]);
+        }
+
+        int[] indegree = new int[k];
+        for (int e = 0; e < offsets[k]; e++) {
+            indegree[targets[e]]++;
+        }
+        Run run = new Run(offsets, targets, memberOffsets, members, tasks, new AtomicIntegerArray(indegree),
+                new long[k], new long[k], new long[tasks.length]);
+
+        long start = System.nanoTime();
+        if (k > 0) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new Root(run, indegree, start));
+            } finally {
+                // After a failure, components already forked may still be running; no Runnable
+                // outlives execute.
+                pool.shutdown();
+                awaitTermination(pool);
+            }
+        }
+        long total = System.nanoTime() - start;
+
+        long queueTotal = 0L;
+        long queueMax = 0L;
+        for (int c = 0; c < k; c++) {
+            long wait = run.startedAt[c] - run.readyAt[c];
+            run.readyAt[c] = wait; // Reused as the per-component queue wait
+            queueTotal += wait;
+            queueMax = Math.max(queueMax, wait);
+        }
+        long latencyTotal = 0L;
+        long latencyMax = 0L;
+        for (long latency : run.latency) {
+            latencyTotal += latency;
+            latencyMax = Math.max(latencyMax, latency);
+        }
+        double throughput = total > 0 ? tasks.length * 1e9 / total : 0.0;
+
+        if (metrics != null) {
+            metrics.incBy("dag.exec.tasks", tasks.length);
+            metrics.putLong("dag.exec.throughput", (long) throughput);
+            metrics.putLong("dag.exec.latency.total.nanos", latencyTotal);
+            metrics.putLong("dag.exec.latency.max.nanos", latencyMax);
+            metrics.putLong("dag.exec.queue.wait.total.nanos", queueTotal);
+            metrics.putLong("dag.exec.queue.wait.max.nanos", queueMax);
+            metrics.stopTimer();
+            metrics.putLong("dag.exec.time.nanos", metrics.getElapsedNanos());
+        }
+        return new ExecutionResult(tasks.length, total, throughput, run.latency, run.readyAt);
+    }
+
+    // Waits until the pool's workers exit, keeping the caller's interrupt status.
+    private static void awaitTermination(ForkJoinPool pool) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Shared state of one execution.
+    private static final class Run {
+        final int[] offsets;
+        final int[] targets;
+        final int[] memberOffsets;
+        final int[] members;
+        final Runnable[] tasks;
+        final AtomicIntegerArray pending; // Unfinished predecessors per component
+        final long[] readyAt; // Written before the component is forked
+        final long[] startedAt;
+        final long[] latency; // Per node
+        volatile boolean failed; // Set when a Runnable throws
+
+        Run(int[] offsets, int[] targets, int[] memberOffsets, int[] members, Runnable[] tasks,
+            AtomicIntegerArray pending, long[] readyAt, long[] startedAt, long[] latency) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.memberOffsets = memberOffsets;
+            this.members = members;
+            this.tasks = tasks;
+            this.pending = pending;
+            this.readyAt = readyAt;
+            this.startedAt = startedAt;
+            this.latency = latency;
+        }
+    }
+
+    // Completes after every component task: its pending count starts at k, and the k component tasks
+    // plus its own tryComplete bring it to completion.
+    private static final class Root extends CountedCompleter<Void> {
+        private final Run run;
+        private final int[] indegree;
+        private final long start;
+
+        Root(Run run, int[] indegree, long start) {
+            this.run = run;
+            this.indegree = indegree;
+            this.start = start;
+            setPendingCount(indegree.length);
+        }
+
+        @Override
+        public void compute() {
+            for (int c = 0; c < indegree.length; c++) {
+                if (indegree[c] == 0) {
+                    run.readyAt[c] = start;
+                    new ComponentTask(this, run, c).fork();
+                }
+            }
+            tryComplete();
+        }
+    }
+
+    // Runs the members of one component, then releases its successors.
+    private static final class ComponentTask extends CountedCompleter<Void> {
+        private final Run run;
+        private final int component;
+
+        ComponentTask(Root root, Run run, int component) {
+            super(root);
+            this.run = run;
+            this.component = component;
+        }
+
+        @Override
+        public void compute() {
+            Run r = run;
+            r.startedAt[component] = System.nanoTime();
+            for (int i = r.memberOffsets[component]; i < r.memberOffsets[component + 1]; i++) {
+                if (r.failed) {
+                    tryComplete();
+                    return;
+                }
+                int node = r.members[i];
+                Runnable task = r.tasks[node];
+                if (task != null) {
+                    long begin = System.nanoTime();
+                    task.run();
+                    r.latency[node] = System.nanoTime() - begin;
+                }
+            }
+            if (r.failed) {
+                tryComplete();
+                return;
+            }
+            Root root = (Root) getCompleter();
+            for (int e = r.offsets[component]; e < r.offsets[component + 1]; e++) {
+                int successor = r.targets[e];
+                if (r.pending.decrementAndGet(successor) == 0) {
+                    r.readyAt[successor] = System.nanoTime();
+                    new ComponentTask(root, r, successor).fork();
+                }
+            }
+            tryComplete();
+        }
+
+        @Override
+        public boolean onExceptionalCompletion(Throwable ex, CountedCompleter<?> caller) {
+            run.failed = true;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package graph.schedule;
+
+// Stores the timings of one DagExecutor run.
+public class ExecutionResult {
+    public final int tasks; // Number of nodes executed
+    public final long totalNanos; // Wall time from start to the completion of the last task
+    public final double throughput; // Tasks per second over totalNanos
+    public final long[] nodeLatencyNanos; // Run time of each node's Runnable, indexed by node ID
+    public final long[] componentQueueWaitNanos; // Time from a component becoming ready until it started
+
+    // Constructor to initialize results.
+    public ExecutionResult(int tasks, long totalNanos, double throughput, long[] nodeLatencyNanos,
+                           long[] componentQueueWaitNanos) {
+        this.tasks = tasks;
+        this.totalNanos = totalNanos;
+        this.throughput = throughput;
+        this.nodeLatencyNanos = nodeLatencyNanos;
+        this.componentQueueWaitNanos = componentQueueWaitNanos;
+    }
+
+    // String representation of the result.
+    @Override
+    public String toString() {
+        return "ExecutionResult{tasks=" + tasks + ", totalNanos=" + totalNanos + "}";
+    }
+}
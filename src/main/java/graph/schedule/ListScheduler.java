@@ -0,0 +1,311 @@
+package graph.schedule;
+
+import graph.condensation.CondensationResult;
+import graph.dagsp.ComponentUtils;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+// List scheduling of the condensation DAG on P identical workers (event-driven simulation).
+// Every component is one unit of work lasting its component weight (an SCC's tasks run back to back,
+// in node ID order, on one worker). Priority is the bottom level: the component's weight plus the
+// longest weight path below it, computed in one reverse topological sweep; ties go to the smaller
+// component ID. Whenever workers are idle they take the highest-priority ready components; otherwise
+// the simulation jumps to the next finish event, releasing all components that finish at that time.
+// Ready components, running events and idle workers (lowest ID first) live in primitive binary heaps,
+// so the run is O((k + m) log k) for k components and m condensation edges. Edge weights are not used.
+public class ListScheduler {
+    private final int workers;
+
+    // Initializes the scheduler for the given number of workers.
+    public ListScheduler(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1");
+        }
+        this.workers = workers;
+    }
+
+    public ScheduleResult schedule(CondensationResult condensationResult, Graph graph, TopoResult topo,
+                                   Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+        int k = condensationResult.getComponentCount();
+        CsrGraph csr = graph.getCsr();
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        long[] weight = ComponentUtils.buildComponentWeight(condensationResult, csr);
+
+        // Bottom levels in reverse topological order.
+        int[] componentOrder = topo.getComponentOrderArray();
+        long[] bottomLevel = new long[k];
+        long criticalPathLength = 0L;
+        for (int i = k - 1; i >= 0; i--) {
+            int u = componentOrder[i];
+            long below = 0L;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                below = Math.max(below, bottomLevel[targets[e]]);
+            }
+            bottomLevel[u] = weight[u] + below;
+            criticalPathLength = Math.max(criticalPathLength, bottomLevel[u]);
+        }
+
+        int[] indegree = new int[k];
+        for (int e = 0; e < offsets[k]; e++) {
+            indegree[targets[e]]++;
+        }
+        ReadyHeap ready = new ReadyHeap(k, bottomLevel);
+        for (int c = 0; c < k; c++) {
+            if (indegree[c] == 0) {
+                ready.push(c);
+            }
+        }
+
+        EventHeap running = new EventHeap(Math.min(k, workers));
+        IdleHeap idle = new IdleHeap(workers);
+        long[] componentStart = new long[k];
+        int[] componentWorker = new int[k];
+        long time = 0L;
+        long makespan = 0L;
+        long busy = 0L;
+        int finished = 0;
+        while (finished < k) {
+            while (!idle.isEmpty() && !ready.isEmpty()) {
+                int c = ready.pop();
+                int worker = idle.pop();
+                componentStart[c] = time;
+                componentWorker[c] = worker;
+                busy += weight[c];
+                running.push(time + weight[c], c);
+            }
+            if (running.isEmpty()) {
+                throw new IllegalStateException("Scheduling failed: component graph has a cycle.");
+            }
+            // Advance to the next finish time and release everything finishing then.
+            time = running.peekTime();
+            makespan = time;
+            while (!running.isEmpty() && running.peekTime() == time) {
+                int c = running.pop();
+                finished++;
+                idle.push(componentWorker[c]);
+                for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                    int v = targets[e];
+                    if (--indegree[v] == 0) {
+                        ready.push(v);
+                    }
+                }
+            }
+        }
+
+        // Map to nodes: members run in ascending node order from the component's start.
+        int[] nodeToComponent = condensationResult.getNodeToComponent();
+        int n = nodeToComponent.length;
+        long[] nodeStart = new long[n];
+        int[] nodeWorker = new int[n];
+        int[] durations = csr.getDurations();
+        List<List<Integer>> components = condensationResult.getComponents();
+        for (int c = 0; c < k; c++) {
+            List<Integer> members = components.get(c);
+            int[] sorted = new int[members.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = members.get(i);
+            }
+            Arrays.sort(sorted);
+            long start = componentStart[c];
+            for (int node : sorted) {
+                nodeStart[node] = start;
+                nodeWorker[node] = componentWorker[c];
+                start += durations[node];
+            }
+        }
+
+        if (metrics != null) {
+            metrics.putLong("schedule.workers", workers);
+            metrics.putLong("schedule.makespan", makespan);
+            metrics.putLong("schedule.critical.path", criticalPathLength);
+            metrics.putLong("schedule.busy.time", busy);
+            metrics.stopTimer();
+            metrics.putLong("schedule.time.nanos", metrics.getElapsedNanos());
+        }
+        return new ScheduleResult(workers, makespan, criticalPathLength, nodeStart, nodeWorker, componentStart,
+                componentWorker);
+    }
+
+    // Binary max-heap of ready components by bottom level, smaller ID first on ties.
+    private static final class ReadyHeap {
+        private final int[] heap;
+        private final long[] priority;
+        private int size;
+
+        ReadyHeap(int k, long[] priority) {
+            this.heap = new int[k];
+            this.priority = priority;
+        }
+
+        private boolean before(int a, int b) {
+            return priority[a] > priority[b] || (priority[a] == priority[b] && a < b);
+        }
+
+        void push(int c) {
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (!before(c, heap[up])) {
+                    break;
+                }
+                heap[i] = heap[up];
+                i = up;
+            }
+            heap[i] = c;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!before(heap[child], last)) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) {
+                heap[i] = last;
+            }
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    // Binary min-heap of running components by finish time, in parallel arrays.
+    private static final class EventHeap {
+        private final long[] time;
+        private final int[] component;
+        private int size;
+
+        EventHeap(int capacity) {
+            time = new long[Math.max(1, capacity)];
+            component = new int[Math.max(1, capacity)];
+        }
+
+        void push(long finish, int c) {
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (time[up] <= finish) {
+                    break;
+                }
+                time[i] = time[up];
+                component[i] = component[up];
+                i = up;
+            }
+            time[i] = finish;
+            component[i] = c;
+        }
+
+        long peekTime() {
+            return time[0];
+        }
+
+        int pop() {
+            int top = component[0];
+            long lastTime = time[--size];
+            int lastComponent = component[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && time[child + 1] < time[child]) {
+                    child++;
+                }
+                if (lastTime <= time[child]) {
+                    break;
+                }
+                time[i] = time[child];
+                component[i] = component[child];
+                i = child;
+            }
+            if (size > 0) {
+                time[i] = lastTime;
+                component[i] = lastComponent;
+            }
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    // Binary min-heap of idle worker IDs, so the lowest idle worker is always used first.
+    private static final class IdleHeap {
+        private final int[] heap;
+        private int size;
+
+        IdleHeap(int workers) {
+            heap = new int[workers];
+            for (int w = 0; w < workers; w++) {
+                heap[size++] = w; // Ascending IDs already form a heap
+            }
+        }
+
+        void push(int worker) {
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (heap[up] <= worker) {
+                    break;
+                }
+                heap[i] = heap[up];
+                i = up;
+            }
+            heap[i] = worker;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) {
+                heap[i] = last;
+            }
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package graph.schedule;
+
+// Stores a schedule of the tasks on a fixed number of workers. Per-node arrays are indexed by
+// original node ID; nodes of one SCC run back to back on the same worker.
+public class ScheduleResult {
+    public final int workers; // Number of simulated workers
+    public final long makespan; // Finish time of the last task
+    public final long criticalPathLength; // Largest bottom level, a lower bound on the makespan
+    public final long[] nodeStart; // Start time per node
+    public final int[] nodeWorker; // Worker ID (0-based) per node
+    public final long[] componentStart; // Start time per component
+    public final int[] componentWorker; // Worker ID per component
+
+    // Constructor to initialize results.
+    public ScheduleResult(int workers, long makespan, long criticalPathLength, long[] nodeStart, int[] nodeWorker,
+                          long[] componentStart, int[] componentWorker) {
+        this.workers = workers;
+        this.makespan = makespan;
+        this.criticalPathLength = criticalPathLength;
+        this.nodeStart = nodeStart;
+        this.nodeWorker = nodeWorker;
+        this.componentStart = componentStart;
+        this.componentWorker = componentWorker;
+    }
+
+    // String representation of the result.
+    @Override
+    public String toString() {
+        return "ScheduleResult{workers=" + workers + ", makespan=" + makespan + "}";
+    }
+}
@@ -0,0 +1,248 @@
+package graph.topo;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import metrics.Metrics;
+
+import java.util.Arrays;
+
+// Topological order of a condensation DAG maintained online under edge insertions (Pearce-Kelly).
+// position[c] is the index of component c in the order and atPosition[] is its inverse. Inserting
+// u->v with position[u] < position[v] costs O(1). Otherwise only the affected region between the two
+// positions is searched: forward from v over components positioned before u, and backward from u over
+// components positioned after v. If the forward search reaches u the edge would close a cycle; it is
+// rejected right away and the structure is left unchanged. Otherwise the visited components are
+// reassigned their own pool of positions, backward set first, keeping all other positions as they are.
+// Not thread-safe.
+public class DynamicTopologicalOrder {
+    private final CondensationResult condensationResult;
+    private final int k;
+    private final int[][] successors;
+    private final int[] successorCount;
+    private final int[][] predecessors;
+    private final int[] predecessorCount;
+    private final int[] position;
+    private final int[] atPosition;
+
+    // Scratch for searches, reused across insertions
+    private final int[] visited; // Stamp of the last search that reached a component
+    private int stamp;
+    private int[] stack = new int[16];
+    private int[] forwardSet = new int[16];
+    private int[] backwardSet = new int[16];
+
+    // Starts from the condensation graph of condensationResult and an existing order of it.
+    public DynamicTopologicalOrder(CondensationResult condensationResult, TopoResult topo) {
+        this.condensationResult = condensationResult;
+        CsrGraph dag = condensationResult.getComponentGraph();
+        this.k = dag.getN();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+
+        successors = new int[k][];
+        successorCount = new int[k];
+        predecessors = new int[k][];
+        predecessorCount = new int[k];
+        for (int u = 0; u < k; u++) {
+            successors[u] = Arrays.copyOfRange(targets, offsets[u], offsets[u + 1]);
+            successorCount[u] = successors[u].length;
+            predecessors[u] = new int[0];
+        }
+        for (int u = 0; u < k; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                append(predecessors, predecessorCount, targets[e], u);
+            }
+        }
+
+        position = new int[k];
+        atPosition = topo.getComponentOrderArray().clone();
+        for (int p = 0; p < k; p++) {
+            position[atPosition[p]] = p;
+        }
+        visited = new int[k];
+    }
+
+    // Starts from condensationResult, computing the initial order with KahnSort.
+    public DynamicTopologicalOrder(CondensationResult condensationResult) {
+        this(condensationResult, new TopologicalSorter().KahnSort(condensationResult, TopoStrategy.FIFO, null, null));
+    }
+
+    // Adds the edge u->v between components. Returns false, without changing anything, if the edge
+    // would create a cycle (including u == v).
+    public boolean addEdge(int u, int v, Metrics metrics) {
+        if (u < 0 || u >= k || v < 0 || v >= k) {
+            throw new IllegalArgumentException("component out of range");
+        }
+        if (metrics != null) {
+            metrics.inc("topo.dynamic.inserts");
+        }
+        if (u == v) {
+            if (metrics != null) {
+                metrics.inc("topo.dynamic.cycles");
+            }
+            return false;
+        }
+        int lower = position[v];
+        int upper = position[u];
+        if (lower < upper) {
+            // The new edge goes backwards: search the affected region.
+            stamp++;
+            int forwardCount = searchForward(v, u, upper);
+            if (forwardCount < 0) {
+                if (metrics != null) {
+                    metrics.inc("topo.dynamic.cycles");
+                }
+                return false;
+            }
+            int backwardCount = searchBackward(u, lower);
+            reorder(forwardCount, backwardCount);
+            if (metrics != null) {
+                metrics.inc("topo.dynamic.reorders");
+                metrics.incBy("topo.dynamic.affected", forwardCount + backwardCount);
+            }
+        }
+        append(successors, successorCount, u, v);
+        append(predecessors, predecessorCount, v, u);
+        return true;
+    }
+
+    // Adds a dependency between two original nodes (mapped through nodeToComponent). Edges inside one
+    // component are accepted without change; see addEdge for the return value.
+    public boolean addNodeEdge(int fromNode, int toNode, Metrics metrics) {
+        int[] nodeToComponent = condensationResult.getNodeToComponent();
+        int u = nodeToComponent[fromNode];
+        int v = nodeToComponent[toNode];
+        return u == v || addEdge(u, v, metrics);
+    }
+
+    // Returns true if the edge u->v could be added without creating a cycle (nothing is modified).
+    public boolean canAddEdge(int u, int v) {
+        if (u == v) {
+            return false;
+        }
+        if (position[v] > position[u]) {
+            return true;
+        }
+        stamp++;
+        return searchForward(v, u, position[u]) >= 0;
+    }
+
+    // Returns the position of component c in the current order.
+    public int positionOf(int c) {
+        return position[c];
+    }
+
+    // Returns the component at position p of the current order.
+    public int componentAt(int p) {
+        return atPosition[p];
+    }
+
+    // Returns a copy of the current component order.
+    public int[] getComponentOrder() {
+        return atPosition.clone();
+    }
+
+    // Builds a TopoResult of the current order.
+    public TopoResult toTopoResult() {
+        int[] componentOrder = getComponentOrder();
+        return new TopoResult(componentOrder, TopologicalSorter.derivedOrder(condensationResult, componentOrder));
+    }
+
+    // DFS from start over successors positioned below upper. Returns the number of components found,
+    // or -1 as soon as target is reached.
+    private int searchForward(int start, int target, int upper) {
+        int found = 0;
+        int top = 0;
+        visited[start] = stamp;
+        stack[top++] = start;
+        while (top > 0) {
+            int c = stack[--top];
+            forwardSet = ensure(forwardSet, found + 1);
+            forwardSet[found++] = c;
+            for (int i = 0; i < successorCount[c]; i++) {
+                int w = successors[c][i];
+                if (w == target) {
+                    return -1;
+                }
+                if (visited[w] != stamp && position[w] < upper) {
+                    visited[w] = stamp;
+                    stack = ensure(stack, top + 1);
+                    stack[top++] = w;
+                }
+            }
+        }
+        return found;
+    }
+
+    // DFS from start over predecessors positioned above lower.
+    private int searchBackward(int start, int lower) {
+        int found = 0;
+        int top = 0;
+        visited[start] = stamp;
+        stack[top++] = start;
+        while (top > 0) {
+            int c = stack[--top];
+            backwardSet = ensure(backwardSet, found + 1);
+            backwardSet[found++] = c;
+            for (int i = 0; i < predecessorCount[c]; i++) {
+                int w = predecessors[c][i];
+                if (visited[w] != stamp && position[w] > lower) {
+                    visited[w] = stamp;
+                    stack = ensure(stack, top + 1);
+                    stack[top++] = w;
+                }
+            }
+        }
+        return found;
+    }
+
+    // Gives the backward set, then the forward set, the sorted pool of positions they occupied.
+    // Both sets keep their internal relative order.
+    private void reorder(int forwardCount, int backwardCount) {
+        sortByPosition(forwardSet, forwardCount);
+        sortByPosition(backwardSet, backwardCount);
+        int[] pool = new int[forwardCount + backwardCount];
+        for (int i = 0; i < backwardCount; i++) {
+            pool[i] = position[backwardSet[i]];
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            pool[backwardCount + i] = position[forwardSet[i]];
+        }
+        Arrays.sort(pool);
+        int next = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            place(backwardSet[i], pool[next++]);
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            place(forwardSet[i], pool[next++]);
+        }
+    }
+
+    private void place(int c, int p) {
+        position[c] = p;
+        atPosition[p] = c;
+    }
+
+    // Sorts set[0 .. count) by current position (positions are distinct, so packing them works).
+    private void sortByPosition(int[] set, int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) position[set[i]] << 32) | set[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < count; i++) {
+            set[i] = (int) keys[i];
+        }
+    }
+
+    private static void append(int[][] rows, int[] sizes, int row, int value) {
+        if (sizes[row] == rows[row].length) {
+            rows[row] = Arrays.copyOf(rows[row], Math.max(4, sizes[row] * 2));
+        }
+        rows[row][sizes[row]++] = value;
+    }
+
+    private static int[] ensure(int[] array, int size) {
+        return size <= array.length ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+}
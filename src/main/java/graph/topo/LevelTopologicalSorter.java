@@ -0,0 +1,147 @@
+package graph.topo;
+
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Level-synchronous (wavefront) variant of Kahn's algorithm.
+// Level 0 holds the components without predecessors; level i + 1 holds those whose last predecessor
+// is in level i. Each frontier is expanded in parallel: workers decrement in-degrees with atomic
+// operations and append components that reach zero to the next frontier through an atomic cursor.
+// Every level is then sorted by component ID, so the result does not depend on thread timing.
+// The returned TopoResult carries the level offsets; components inside a level have no edges
+// between them and can be processed concurrently.
+public class LevelTopologicalSorter {
+    // Frontier slices smaller than this are expanded by a single task.
+    private static final int GRAIN = 1024;
+
+    private final int parallelism;
+
+    // Initializes the sorter with the given parallelism level (1 runs every level on the caller thread).
+    public LevelTopologicalSorter(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public TopoResult levelSort(CondensationResult condensationResult, Metrics metrics) {
+        if (metrics != null) {
+            metrics.startTimer();
+        }
+
+        int k = condensationResult.getComponentCount();
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int[] counts = new int[k];
+        for (int e = 0; e < offsets[k]; e++) {
+            counts[targets[e]]++;
+        }
+        AtomicIntegerArray indegree = new AtomicIntegerArray(counts);
+
+        // The order array doubles as the frontier storage: level i occupies [levelStart, levelEnd).
+        int[] componentOrder = new int[k];
+        int[] levelOffsets = new int[k + 1];
+        int levels = 0;
+        int levelEnd = 0;
+        for (int c = 0; c < k; c++) {
+            if (counts[c] == 0) {
+                componentOrder[levelEnd++] = c;
+            }
+        }
+        AtomicInteger written = new AtomicInteger(levelEnd);
+        int maxWidth = 0;
+
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            int levelStart = 0;
+            while (levelStart < levelEnd) {
+                levelOffsets[levels++] = levelStart;
+                maxWidth = Math.max(maxWidth, levelEnd - levelStart);
+                Expand expand = new Expand(componentOrder, offsets, targets, indegree, written, levelStart, levelEnd);
+                if (pool == null || levelEnd - levelStart <= GRAIN) {
+                    expand.compute();
+                } else {
+                    pool.invoke(expand);
+                }
+                levelStart = levelEnd;
+                levelEnd = written.get();
+                Arrays.sort(componentOrder, levelStart, levelEnd);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        levelOffsets[levels] = levelEnd;
+
+        if (metrics != null) {
+            metrics.incBy("topo.levels", levels);
+            metrics.putLong("topo.level.max.width", maxWidth);
+        }
+        if (levelEnd != k) {
+            if (metrics != null) {
+                metrics.stopTimer();
+                metrics.putLong("topo.time.nanos", metrics.getElapsedNanos());
+            }
+            throw new IllegalStateException("Topological sort failed: component graph has a cycle.");
+        }
+
+        int[] derivedOrder = TopologicalSorter.derivedOrder(condensationResult, componentOrder);
+
+        if (metrics != null) {
+            metrics.stopTimer();
+            metrics.putLong("topo.time.nanos", metrics.getElapsedNanos());
+        }
+
+        return new TopoResult(componentOrder, derivedOrder, Arrays.copyOf(levelOffsets, levels + 1));
+    }
+
+    // Expands the frontier slice [from, to): releases every successor whose in-degree drops to zero.
+    private static final class Expand extends RecursiveAction {
+        private final int[] order;
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicIntegerArray indegree;
+        private final AtomicInteger written;
+        private final int from;
+        private final int to;
+
+        Expand(int[] order, int[] offsets, int[] targets, AtomicIntegerArray indegree, AtomicInteger written,
+               int from, int to) {
+            this.order = order;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.indegree = indegree;
+            this.written = written;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN && getPool() != null) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Expand(order, offsets, targets, indegree, written, from, mid),
+                        new Expand(order, offsets, targets, indegree, written, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                int u = order[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (indegree.decrementAndGet(v) == 0) {
+                        order[written.getAndIncrement()] = v;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,27 +1,97 @@
 package graph.topo;
 
-import java.util.Collections;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
+// Topological order of the condensation graph and the derived node order.
+// The int arrays are the primary data; the List getters are read-only views over them.
+// Level-synchronous sorts also record levelOffsets: level i is componentOrder[levelOffsets[i] ..
+// levelOffsets[i + 1]), a set of components with no edges among them that can run concurrently.
 public class TopoResult {
-    private final List<Integer> componentOrder;
-    private final List<Integer> derivedOrder;
+    private final int[] componentOrder;
+    private final int[] derivedOrder;
+    private final int[] levelOffsets; // null when the order was not built level by level
 
     public TopoResult(List<Integer> componentOrder, List<Integer> derivedOrder) {
-        this.componentOrder = Collections.unmodifiableList(componentOrder);
-        this.derivedOrder = Collections.unmodifiableList(derivedOrder);
+        this(toArray(componentOrder), toArray(derivedOrder));
+    }
+
+    // Wraps the given arrays without copying; they must not be modified afterwards.
+    public TopoResult(int[] componentOrder, int[] derivedOrder) {
+        this(componentOrder, derivedOrder, null);
+    }
+
+    // Wraps the given arrays without copying, including the level boundaries (length levels + 1).
+    public TopoResult(int[] componentOrder, int[] derivedOrder, int[] levelOffsets) {
+        this.componentOrder = componentOrder;
+        this.derivedOrder = derivedOrder;
+        this.levelOffsets = levelOffsets;
     }
 
     public List<Integer> getComponentOrder() {
-        return componentOrder;
+        return new IntListView(componentOrder);
     }
 
     public List<Integer> getDerivedOrder() {
+        return new IntListView(derivedOrder);
+    }
+
+    // Returns the component order. The array is shared, do not modify it.
+    public int[] getComponentOrderArray() {
+        return componentOrder;
+    }
+
+    // Returns the derived node order. The array is shared, do not modify it.
+    public int[] getDerivedOrderArray() {
         return derivedOrder;
     }
 
+    // Returns true if the order is split into antichain levels.
+    public boolean hasLevels() {
+        return levelOffsets != null;
+    }
+
+    // Returns the level boundaries into the component order, or null. The array is shared, do not modify it.
+    public int[] getLevelOffsets() {
+        return levelOffsets;
+    }
+
+    // Returns the number of levels, or 0 when the order has none.
+    public int getLevelCount() {
+        return levelOffsets == null ? 0 : levelOffsets.length - 1;
+    }
+
     @Override
     public String toString() {
-        return "TopoResult{compOrder=" + componentOrder + ", derivedOrder=" + derivedOrder + "}";
+        return "TopoResult{compOrder=" + getComponentOrder() + ", derivedOrder=" + getDerivedOrder() + "}";
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        int i = 0;
+        for (int value : list) {
+            array[i++] = value;
+        }
+        return array;
+    }
+
+    // Read-only List view over an int array.
+    private static final class IntListView extends AbstractList<Integer> implements RandomAccess {
+        private final int[] values;
+
+        IntListView(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
     }
 }
@@ -0,0 +1,12 @@
+package graph.topo;
+
+// Order in which TopologicalSorter.KahnSort releases ready components.
+public enum TopoStrategy {
+    // Plain int-array FIFO queue: any valid order, O(k + e).
+    FIFO,
+    // Primitive binary min-heap on component IDs: smallest ready ID first (the deterministic default).
+    MIN_HEAP,
+    // Bucket queue on a caller-supplied non-negative int priority: smallest priority first, FIFO
+    // within a bucket. O(k + e + maxPriority) when priorities only grow along edges.
+    BUCKET
+}
@@ -1,55 +1,66 @@
 package graph.topo;
 
 import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.scc.SccOrder;
 import metrics.Metrics;
 
 import java.util.*;
 
+// Kahn's algorithm over the condensation graph's CSR arrays.
+// The ready set is a FIFO queue, a primitive min-heap (smallest component ID first, the default and
+// the historical order) or a bucket queue on a caller-supplied priority; see TopoStrategy.
 public class TopologicalSorter {
     public TopoResult KahnSort(CondensationResult condensationResult, Metrics metrics) {
+        return KahnSort(condensationResult, TopoStrategy.MIN_HEAP, null, metrics);
+    }
+
+    // Sorts with the given strategy. priority is only read by BUCKET: one non-negative value per component.
+    public TopoResult KahnSort(CondensationResult condensationResult, TopoStrategy strategy, int[] priority,
+                               Metrics metrics) {
         if(metrics!=null){
             metrics.startTimer();
         }
 
         int k = condensationResult.getComponentCount();
-        List<Set<Integer>> adj = condensationResult.getAdjacentComponents();
+        CsrGraph dag = condensationResult.getComponentGraph();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
         // compute indegrees
         int[] indegree = new int[k];
-        for(int u = 0; u < k; u++) {
-            for(int v : adj.get(u)) {
-                indegree[v]++;
-            }
+        for(int e = 0; e < offsets[k]; e++) {
+            indegree[targets[e]]++;
         }
 
-        PriorityQueue<Integer> pq = new PriorityQueue<>();
+        ReadyQueue ready = newQueue(strategy, k, priority);
+        long pushes = 0L;
         for(int i = 0;i < k;i++) {
             if(indegree[i]==0) {
-                pq.add(i);
-                if(metrics!=null){
-                    metrics.inc("topo.kahn.push");
-                }
+                ready.push(i);
+                pushes++;
             }
         }
 
-        List<Integer> componentOrder = new ArrayList<>(k);
-        while (!pq.isEmpty()) {
-            int u = pq.poll();
-            if(metrics!=null){
-                metrics.inc("topo.kahn.pop");
-            }
-            componentOrder.add(u);
-            for(int v : adj.get(u)) {
+        int[] componentOrder = new int[k];
+        int ordered = 0;
+        while (!ready.isEmpty()) {
+            int u = ready.pop();
+            componentOrder[ordered++] = u;
+            for(int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
                 indegree[v]--;
                 if(indegree[v]==0) {
-                    pq.add(v);
-                    if(metrics!=null){
-                        metrics.inc("topo.kahn.push");
-                    }
+                    ready.push(v);
+                    pushes++;
                 }
             }
         }
+        if(metrics!=null){
+            metrics.incBy("topo.kahn.push", pushes);
+            metrics.incBy("topo.kahn.pop", ordered);
+        }
 
-        if(componentOrder.size()!=k) {
+        if(ordered!=k) {
             if(metrics!=null){
                 metrics.stopTimer();
                 metrics.putLong("topo.time.nanos", metrics.getElapsedNanos());
@@ -57,13 +68,7 @@ public class TopologicalSorter {
             throw new IllegalStateException("Topological sort failed: component graph has a cycle.");
         }
 
-        List<Integer> derivedOrder = new ArrayList<>();
-        List<List<Integer>> components = condensationResult.getComponents();
-        for(int componentId : componentOrder) {
-            List<Integer> nodes = new ArrayList<>(components.get(componentId));
-            Collections.sort(nodes);
-            derivedOrder.addAll(nodes);
-        }
+        int[] derivedOrder = derivedOrder(condensationResult, componentOrder);
 
         if(metrics!=null){
             metrics.stopTimer();
@@ -72,4 +77,213 @@ public class TopologicalSorter {
 
         return new TopoResult(componentOrder, derivedOrder);
     }
+
+    // Fast path: when the condensation was numbered by an SCC engine that guarantees a (reverse)
+    // topological numbering, the order is read off the IDs without computing in-degrees or using a
+    // queue. Otherwise falls back to KahnSort with the given strategy. The order differs from the
+    // smallest-ID-first one, so use KahnSort when that determinism is required.
+    // Records "topo.path.fast" or "topo.path.kahn" in metrics.
+    public TopoResult fromSccOrder(CondensationResult condensationResult, SccOrder order, TopoStrategy fallback,
+                                   Metrics metrics) {
+        if(order == SccOrder.UNORDERED) {
+            if(metrics!=null){
+                metrics.inc("topo.path.kahn");
+            }
+            return KahnSort(condensationResult, fallback, null, metrics);
+        }
+        if(metrics!=null){
+            metrics.startTimer();
+            metrics.inc("topo.path.fast");
+        }
+        int k = condensationResult.getComponentCount();
+        int[] componentOrder = new int[k];
+        for(int i = 0; i < k; i++) {
+            componentOrder[i] = order == SccOrder.TOPOLOGICAL ? i : k - 1 - i;
+        }
+        int[] derivedOrder = derivedOrder(condensationResult, componentOrder);
+        if(metrics!=null){
+            metrics.stopTimer();
+            metrics.putLong("topo.time.nanos", metrics.getElapsedNanos());
+        }
+        return new TopoResult(componentOrder, derivedOrder);
+    }
+
+    // Expands components in the given order; nodes inside each component are sorted.
+    static int[] derivedOrder(CondensationResult condensationResult, int[] componentOrder) {
+        List<List<Integer>> components = condensationResult.getComponents();
+        int total = 0;
+        for(List<Integer> component : components) {
+            total += component.size();
+        }
+        int[] derivedOrder = new int[total];
+        int written = 0;
+        for(int componentId : componentOrder) {
+            int start = written;
+            for(int node : components.get(componentId)) {
+                derivedOrder[written++] = node;
+            }
+            Arrays.sort(derivedOrder, start, written);
+        }
+        return derivedOrder;
+    }
+
+    private static ReadyQueue newQueue(TopoStrategy strategy, int k, int[] priority) {
+        switch (strategy) {
+            case FIFO:
+                return new FifoQueue(k);
+            case BUCKET:
+                if(priority == null || priority.length < k) {
+                    throw new IllegalArgumentException("BUCKET ordering needs one priority per component");
+                }
+                return new BucketQueue(k, priority);
+            default:
+                return new MinHeap(k);
+        }
+    }
+
+    // Ready set of Kahn's algorithm; each component is pushed at most once.
+    private interface ReadyQueue {
+        void push(int component);
+
+        int pop();
+
+        boolean isEmpty();
+    }
+
+    // FIFO queue: every component enters once, so a k-sized array with two cursors suffices.
+    private static final class FifoQueue implements ReadyQueue {
+        private final int[] items;
+        private int head;
+        private int tail;
+
+        FifoQueue(int k) {
+            items = new int[k];
+        }
+
+        @Override
+        public void push(int component) {
+            items[tail++] = component;
+        }
+
+        @Override
+        public int pop() {
+            return items[head++];
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return head == tail;
+        }
+    }
+
+    // Binary min-heap on an int array.
+    private static final class MinHeap implements ReadyQueue {
+        private final int[] heap;
+        private int size;
+
+        MinHeap(int k) {
+            heap = new int[k];
+        }
+
+        @Override
+        public void push(int component) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= component) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = component;
+        }
+
+        @Override
+        public int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) {
+                heap[i] = last;
+            }
+            return top;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    // Bucket queue: one FIFO list per priority value, linked through next[]. The cursor moves back when a
+    // lower priority is pushed, so pops always return the smallest pending priority.
+    private static final class BucketQueue implements ReadyQueue {
+        private final int[] priority;
+        private final int[] head;
+        private final int[] tail;
+        private final int[] next;
+        private int cursor;
+        private int size;
+
+        BucketQueue(int k, int[] priority) {
+            int maxPriority = 0;
+            for (int c = 0; c < k; c++) {
+                if (priority[c] < 0) {
+                    throw new IllegalArgumentException("priorities must be non-negative");
+                }
+                maxPriority = Math.max(maxPriority, priority[c]);
+            }
+            this.priority = priority;
+            head = new int[maxPriority + 1];
+            tail = new int[maxPriority + 1];
+            Arrays.fill(head, -1);
+            next = new int[k];
+            cursor = maxPriority + 1;
+        }
+
+        @Override
+        public void push(int component) {
+            int p = priority[component];
+            next[component] = -1;
+            if (head[p] == -1) {
+                head[p] = component;
+            } else {
+                next[tail[p]] = component;
+            }
+            tail[p] = component;
+            cursor = Math.min(cursor, p);
+            size++;
+        }
+
+        @Override
+        public int pop() {
+            while (head[cursor] == -1) {
+                cursor++;
+            }
+            int component = head[cursor];
+            head[cursor] = next[component];
+            size--;
+            return component;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package utils;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import graph.dagsp.PathCountResult;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -9,7 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.Map;
 
-// Export per-dataset JSON payloads and a summary CSV.
+// Export per-dataset JSON payloads, a summary CSV and optional per-node CSVs.
 // On construction the summary.csv is created and header written.
 public class ResultsExporter {
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
@@ -82,4 +83,21 @@ public class ResultsExporter {
                 (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
                 StandardOpenOption.APPEND);
     }
-}
\ No newline at end of file
+
+    // Write per-node path counts to <dataset>_path_counts.csv.
+    public void writePathCountsCsv(String datasetName, int[] nodeToComponent, PathCountResult result)
+            throws IOException {
+        StringBuilder sb = new StringBuilder("node,component,paths_through,paths_through_mod,criticality_index\n");
+        for (int node = 0; node < result.pathsThrough.length; node++) {
+            sb.append(node).append(',')
+                    .append(nodeToComponent[node]).append(',')
+                    .append(result.pathsThrough[node]).append(',')
+                    .append(result.pathsThroughMod[node]).append(',')
+                    .append(result.criticality[node]).append('\n');
+        }
+        Path out = outDir.resolve(datasetName + "_path_counts.csv");
+        Files.write(out, sb.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
@@ -1,5 +1,6 @@
 package graph;
 
+import graph.model.CsrGraph;
 import graph.model.Graph;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -38,4 +39,44 @@ public class ParserTest {
         Assertions.assertEquals(7, g.getEdges().size());
         Assertions.assertEquals(4, g.getSource());
     }
+
+    @Test
+    public void testParseCsrMatchesGraph() throws Exception {
+        Path tmp = Files.createTempFile("sample-csr", ".json");
+        String sampleJson = "{\n" +
+                "  \"directed\": true,\n" +
+                "  \"edges\": [\n" +
+                "    {\"u\": 0, \"v\": 2, \"w\": 3},\n" +
+                "    {\"u\": 1, \"v\": 2, \"w\": null},\n" +
+                "    {\"u\": 0, \"v\": 1, \"w\": 7},\n" +
+                "    {\"u\": 2, \"v\": 9, \"w\": 1}\n" +
+                "  ],\n" +
+                "  \"nodes\": [{\"id\": 1, \"duration\": 5}, {\"id\": 2, \"duration\": null}],\n" +
+                "  \"n\": 3,\n" +
+                "  \"source\": 0,\n" +
+                "  \"weight_model\": \"edge\"\n" +
+                "}";
+        Files.writeString(tmp, sampleJson);
+
+        TasksJsonParser parser = new TasksJsonParser();
+        CsrGraph csr = parser.parseCsr(tmp.toString());
+        CsrGraph fromGraph = parser.parse(tmp.toString()).getCsr();
+
+        // the out-of-range edge 2->9 is dropped, edge order inside a row is kept
+        Assertions.assertEquals(3, csr.getN());
+        Assertions.assertEquals(3, csr.getEdgeCount());
+        Assertions.assertArrayEquals(new int[]{0, 2, 3, 3}, csr.getOffsets());
+        Assertions.assertArrayEquals(new int[]{2, 1, 2}, csr.getTargets());
+        Assertions.assertArrayEquals(new int[]{3, 7, 0}, csr.getWeights());
+        Assertions.assertArrayEquals(new int[]{0, 5, 0}, csr.getDurations());
+        Assertions.assertArrayEquals(csr.getOffsets(), fromGraph.getOffsets());
+        Assertions.assertArrayEquals(csr.getTargets(), fromGraph.getTargets());
+        Assertions.assertArrayEquals(csr.getWeights(), fromGraph.getWeights());
+
+        // reverse CSR: in-edges of node 2 come from 0 and 1
+        CsrGraph reverse = csr.reverse();
+        Assertions.assertArrayEquals(new int[]{0, 0, 1, 3}, reverse.getOffsets());
+        Assertions.assertArrayEquals(new int[]{0, 0, 1}, reverse.getTargets());
+        Assertions.assertSame(csr, reverse.reverse());
+    }
 }
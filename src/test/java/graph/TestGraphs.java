@@ -0,0 +1,91 @@
+package graph;
+
+import graph.condensation.CondensationBuilder;
+import graph.condensation.CondensationResult;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.model.Node;
+import graph.scc.IterativeTarjan;
+import graph.topo.TopoResult;
+import graph.topo.TopologicalSorter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Shared graph fixtures for tests: random graphs and the usual condensation + topological order setup.
+public final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    // Random graph with 1 + random.nextInt(maxNodes) nodes, durations in [0, maxDuration) and
+    // random.nextInt(edgeFactor * n) edges (self-loops and duplicates allowed) with weights in
+    // [minWeight, maxWeight). Source is node 0.
+    public static Graph randomGraph(Random random, int maxNodes, int edgeFactor, int maxDuration, int minWeight,
+                                    int maxWeight, String model) {
+        int n = 1 + random.nextInt(maxNodes);
+        int[] durations = randomDurations(random, n, maxDuration);
+        List<Edge> edges = randomEdges(random, n, random.nextInt(edgeFactor * n), minWeight, maxWeight);
+        return graph(durations, edges, 0, model);
+    }
+
+    // Same as above with non-negative edge weights below maxWeight (all 0 if maxWeight is 0).
+    public static Graph randomGraph(Random random, int maxNodes, int edgeFactor, int maxDuration, int maxWeight,
+                                    String model) {
+        return randomGraph(random, maxNodes, edgeFactor, maxDuration, 0, maxWeight, model);
+    }
+
+    // n durations in [0, maxDuration).
+    public static int[] randomDurations(Random random, int n, int maxDuration) {
+        int[] durations = new int[n];
+        for (int i = 0; i < n; i++) {
+            durations[i] = random.nextInt(maxDuration);
+        }
+        return durations;
+    }
+
+    // m random edges between n nodes with weights in [minWeight, maxWeight) (0 if the range is empty).
+    public static List<Edge> randomEdges(Random random, int n, int m, int minWeight, int maxWeight) {
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            int weight = maxWeight > minWeight ? minWeight + random.nextInt(maxWeight - minWeight) : 0;
+            edges.add(new Edge(u, v, weight));
+        }
+        return edges;
+    }
+
+    // Directed graph with the given node durations and edges.
+    public static Graph graph(int[] durations, List<Edge> edges, int source, String model) {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < durations.length; i++) {
+            nodes.add(new Node(i, durations[i]));
+        }
+        return new Graph(true, durations.length, nodes, edges, source, model);
+    }
+
+    // Node-model graph of n unit-duration nodes with source 0.
+    public static Graph unitGraph(int n, List<Edge> edges) {
+        int[] durations = new int[n];
+        Arrays.fill(durations, 1);
+        return graph(durations, edges, 0, "node");
+    }
+
+    // Weight model for round-based tests: "node" on even rounds, "edge" on odd ones.
+    public static String alternatingModel(int round) {
+        return round % 2 == 0 ? "node" : "edge";
+    }
+
+    // Condensation of g, built from IterativeTarjan's SCCs.
+    public static CondensationResult condense(Graph g) {
+        return new CondensationBuilder().build(g.getCsr(), new IterativeTarjan(g).findSCCs(null), null);
+    }
+
+    // Default (smallest component ID first) Kahn order of cr.
+    public static TopoResult kahn(CondensationResult cr) {
+        return new TopologicalSorter().KahnSort(cr, null);
+    }
+}
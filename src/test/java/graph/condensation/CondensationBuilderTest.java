@@ -1,8 +1,11 @@
 package graph.condensation;
 
+import graph.model.CsrGraph;
 import graph.model.Edge;
 import graph.model.Node;
 import graph.model.Graph;
+import graph.scc.IterativeTarjan;
+import graph.scc.SccResult;
 import metrics.SimpleMetrics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 public class CondensationBuilderTest {
 
@@ -56,4 +60,76 @@ public class CondensationBuilderTest {
         // no self-loops
         Assertions.assertFalse(res.getAdjacentComponents().get(0).contains(0));
     }
+
+    @Test
+    public void testFusedWeights() {
+        // SCC {0,1} with durations 2+3; parallel edges 1->2 (w=4) and 0->2 (w=1); 2->3 (w=7)
+        List<Node> nodes = Arrays.asList(
+                new Node(0,2), new Node(1,3), new Node(2,5), new Node(3,1)
+        );
+        List<Edge> edges = Arrays.asList(
+                new Edge(0,1,1),
+                new Edge(1,0,1),
+                new Edge(1,2,4),
+                new Edge(0,2,1),
+                new Edge(2,3,7)
+        );
+        Graph g = new Graph(true, 4, nodes, edges, 0, "edge");
+        List<List<Integer>> sccs = Arrays.asList(
+                Arrays.asList(0,1),
+                Collections.singletonList(2),
+                Collections.singletonList(3)
+        );
+
+        SimpleMetrics metrics = new SimpleMetrics();
+        CondensationResult res = new CondensationBuilder().build(g, sccs, metrics);
+
+        Assertions.assertTrue(res.hasWeights());
+        Assertions.assertArrayEquals(new long[]{5, 5, 1}, res.getComponentWeights());
+        Assertions.assertArrayEquals(new int[]{0, 1, 2, 2}, res.getComponentGraph().getOffsets());
+        Assertions.assertArrayEquals(new int[]{1, 2}, res.getComponentGraph().getTargets());
+        Assertions.assertArrayEquals(new int[]{1, 7}, res.getMinEdgeWeights());
+        Assertions.assertArrayEquals(new int[]{4, 7}, res.getMaxEdgeWeights());
+        Assertions.assertEquals(2, metrics.get("condensation.edges.added"));
+        Assertions.assertEquals(5, metrics.get("condensation.edges.processed"));
+    }
+
+    @Test
+    public void testStrategiesAndParallelModeAgree() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(80);
+            int m = random.nextInt(4 * n);
+            int[] us = new int[m];
+            int[] vs = new int[m];
+            int[] ws = new int[m];
+            for (int i = 0; i < m; i++) {
+                us[i] = random.nextInt(n);
+                vs[i] = random.nextInt(n);
+                ws[i] = random.nextInt(10);
+            }
+            int[] durations = new int[n];
+            for (int i = 0; i < n; i++) {
+                durations[i] = random.nextInt(5);
+            }
+            CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, ws, m, durations);
+            SccResult scc = new IterativeTarjan(g).findSCCs(null);
+
+            CondensationResult marker = new CondensationBuilder(DedupStrategy.MARKER).build(g, scc, null);
+            CondensationResult sort = new CondensationBuilder(DedupStrategy.SORT).build(g, scc, null);
+            // Parallel mode forced on even for tiny graphs
+            CondensationResult parallel = new CondensationBuilder(DedupStrategy.MARKER, 3, 0).build(g, scc, null);
+            for (CondensationResult other : Arrays.asList(sort, parallel)) {
+                Assertions.assertArrayEquals(marker.getComponentGraph().getOffsets(), other.getComponentGraph().getOffsets());
+                Assertions.assertArrayEquals(marker.getComponentGraph().getTargets(), other.getComponentGraph().getTargets());
+                Assertions.assertArrayEquals(marker.getMinEdgeWeights(), other.getMinEdgeWeights());
+                Assertions.assertArrayEquals(marker.getMaxEdgeWeights(), other.getMaxEdgeWeights());
+                Assertions.assertArrayEquals(marker.getComponentWeights(), other.getComponentWeights());
+                Assertions.assertEquals(marker.getAdjacentComponents(), other.getAdjacentComponents());
+            }
+        }
+        Assertions.assertEquals(DedupStrategy.MARKER, CondensationBuilder.resolve(DedupStrategy.ADAPTIVE, 100, 1000));
+        Assertions.assertEquals(DedupStrategy.SORT,
+                CondensationBuilder.resolve(DedupStrategy.ADAPTIVE, CondensationBuilder.MARKER_MAX_COMPONENTS + 1, 1 << 20));
+    }
 }
@@ -0,0 +1,135 @@
+package graph.condensation;
+
+import graph.model.CsrGraph;
+import graph.scc.IterativeTarjan;
+import graph.scc.SccResult;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+// Minimal tests for DynamicCondensation.
+// testCycleMergeAndSplit: closing a chain into a cycle merges it (merged-away IDs are rejected); deleting
+// one edge splits it again.
+// testRandomUpdates: after every random batch the partition, adjacency and order match a full recomputation.
+public class DynamicCondensationTest {
+
+    @Test
+    public void testCycleMergeAndSplit() {
+        CsrGraph g = CsrGraph.fromEdgeArrays(4, new int[]{0, 1, 2}, new int[]{1, 2, 3}, null, 3, null);
+        DynamicCondensation dynamic = new DynamicCondensation(g);
+        Assertions.assertEquals(4, dynamic.getComponentCount());
+
+        SimpleMetrics metrics = new SimpleMetrics();
+        dynamic.addEdge(3, 1, metrics);
+        Assertions.assertEquals(2, dynamic.getComponentCount());
+        Assertions.assertEquals(dynamic.componentOf(1), dynamic.componentOf(3));
+        Assertions.assertEquals(2, metrics.get("dynamic.merges"));
+        // IDs merged away are rejected.
+        for (int c = 0; c < 4; c++) {
+            if (c != dynamic.componentOf(0) && c != dynamic.componentOf(1)) {
+                int dead = c;
+                Assertions.assertThrows(IllegalArgumentException.class, () -> dynamic.getAdjacentComponents(dead));
+            }
+        }
+
+        CondensationResult cr = dynamic.toCondensationResult();
+        Assertions.assertEquals(List.of(List.of(0), List.of(1, 2, 3)), cr.getComponents());
+
+        Assertions.assertTrue(dynamic.removeEdge(2, 3, metrics));
+        Assertions.assertFalse(dynamic.removeEdge(2, 3, metrics));
+        Assertions.assertEquals(4, dynamic.getComponentCount());
+        Assertions.assertEquals(1, metrics.get("dynamic.splits"));
+        // 0 -> 1 -> 2 and 3 -> 1 with 2 -> 3 gone: 0 and 3 both precede 1, which precedes 2
+        cr = dynamic.toCondensationResult();
+        int[] position = cr.getNodeToComponent();
+        Assertions.assertTrue(position[0] < position[1] && position[3] < position[1] && position[1] < position[2]);
+    }
+
+    @Test
+    public void testRandomUpdates() {
+        Random random = new Random(11);
+        for (int round = 0; round < 10; round++) {
+            int n = 5 + random.nextInt(40);
+            List<int[]> edges = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                edges.add(new int[]{random.nextInt(n), random.nextInt(n)});
+            }
+            DynamicCondensation dynamic = new DynamicCondensation(toCsr(n, edges));
+            SimpleMetrics metrics = new SimpleMetrics();
+            for (int step = 0; step < 60; step++) {
+                int batch = 1 + random.nextInt(4);
+                int[] us = new int[batch];
+                int[] vs = new int[batch];
+                boolean add = edges.isEmpty() || random.nextBoolean();
+                for (int i = 0; i < batch; i++) {
+                    if (add || edges.isEmpty()) {
+                        us[i] = random.nextInt(n);
+                        vs[i] = random.nextInt(n);
+                    } else {
+                        int[] edge = edges.get(random.nextInt(edges.size()));
+                        us[i] = edge[0];
+                        vs[i] = edge[1];
+                    }
+                }
+                if (add) {
+                    dynamic.addEdges(us, vs, metrics);
+                    for (int i = 0; i < batch; i++) {
+                        edges.add(new int[]{us[i], vs[i]});
+                    }
+                } else {
+                    int removed = 0;
+                    for (int i = 0; i < batch; i++) {
+                        for (int j = 0; j < edges.size(); j++) {
+                            if (edges.get(j)[0] == us[i] && edges.get(j)[1] == vs[i]) {
+                                edges.remove(j);
+                                removed++;
+                                break;
+                            }
+                        }
+                    }
+                    Assertions.assertEquals(removed, dynamic.removeEdges(us, vs, metrics));
+                }
+                assertMatchesRecomputation(n, edges, dynamic);
+            }
+        }
+    }
+
+    private static void assertMatchesRecomputation(int n, List<int[]> edges, DynamicCondensation dynamic) {
+        SccResult expected = new IterativeTarjan(toCsr(n, edges)).findSCCs(null);
+        Assertions.assertEquals(expected.getComponentCount(), dynamic.getComponentCount());
+        CondensationResult cr = dynamic.toCondensationResult();
+        int[] nodeToComponent = cr.getNodeToComponent();
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                boolean same = expected.getComponentOf()[u] == expected.getComponentOf()[v];
+                Assertions.assertEquals(same, nodeToComponent[u] == nodeToComponent[v]);
+            }
+        }
+        List<Set<Integer>> expectedAdjacency = new ArrayList<>();
+        for (int c = 0; c < cr.getComponents().size(); c++) {
+            expectedAdjacency.add(new HashSet<>());
+        }
+        for (int[] edge : edges) {
+            int cu = nodeToComponent[edge[0]];
+            int cv = nodeToComponent[edge[1]];
+            if (cu != cv) {
+                // Snapshot IDs are topological positions
+                Assertions.assertTrue(cu < cv, "Edge goes backwards in the maintained order");
+                expectedAdjacency.get(cu).add(cv);
+            }
+        }
+        Assertions.assertEquals(expectedAdjacency, cr.getAdjacentComponents());
+    }
+
+    private static CsrGraph toCsr(int n, List<int[]> edges) {
+        int[] us = new int[edges.size()];
+        int[] vs = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            us[i] = edges.get(i)[0];
+            vs[i] = edges.get(i)[1];
+        }
+        return CsrGraph.fromEdgeArrays(n, us, vs, null, us.length, null);
+    }
+}
@@ -0,0 +1,90 @@
+package graph.condensation;
+
+import graph.TestGraphs;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.scc.IterativeTarjan;
+import graph.topo.TopoResult;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+// Minimal tests for ReachabilityIndex.
+// testRandomGraphs: closure and GRAIL modes (forced by a tiny memory budget) answer every node pair
+// like a BFS on the original graph, and build time and memory are reported.
+// testHugeBudgetFallsBackToLabels: a closure too large for one array uses GRAIL labels even when the
+// budget allows it, and label arrays that would overflow are rejected.
+public class ReachabilityIndexTest {
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(83);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(120);
+            Graph g = TestGraphs.unitGraph(n, TestGraphs.randomEdges(random, n, random.nextInt(3 * n), 0, 0));
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+
+            SimpleMetrics metrics = new SimpleMetrics();
+            ReachabilityIndex closure = new ReachabilityIndex(cr, topo, metrics);
+            ReachabilityIndex grail = new ReachabilityIndex(cr, topo, 0, 1 + round % 4, null);
+            Assertions.assertTrue(closure.isClosure());
+            Assertions.assertFalse(grail.isClosure());
+            Assertions.assertTrue(metrics.get("reach.memory.bytes") > 0);
+            Assertions.assertEquals(1, metrics.get("reach.closure"));
+
+            for (int u = 0; u < n; u++) {
+                boolean[] reachable = bfs(g, u);
+                for (int v = 0; v < n; v++) {
+                    Assertions.assertEquals(reachable[v], closure.reaches(u, v));
+                    Assertions.assertEquals(reachable[v], grail.reaches(u, v));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHugeBudgetFallsBackToLabels() {
+        // A 400k chain: the closure (k * k / 64 words) fits an unlimited budget but not one array.
+        int n = 400_000;
+        int[] us = new int[n - 1];
+        int[] vs = new int[n - 1];
+        for (int i = 0; i + 1 < n; i++) {
+            us[i] = i;
+            vs[i] = i + 1;
+        }
+        CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, null, n - 1, null);
+        CondensationResult cr = new CondensationBuilder().build(g, new IterativeTarjan(g).findSCCs(null), null);
+        ReachabilityIndex index = new ReachabilityIndex(cr, TestGraphs.kahn(cr), Long.MAX_VALUE, 1, null);
+
+        Assertions.assertFalse(index.isClosure());
+        Assertions.assertTrue(index.reaches(0, n - 1));
+        Assertions.assertTrue(index.reaches(12_345, 300_000));
+        Assertions.assertFalse(index.reaches(n - 1, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ReachabilityIndex(cr, TestGraphs.kahn(cr), 0, 6_000, null));
+    }
+
+    private static boolean[] bfs(Graph g, int start) {
+        int[] offsets = g.getCsr().getOffsets();
+        int[] targets = g.getCsr().getTargets();
+        boolean[] seen = new boolean[g.getN()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        seen[start] = true;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (!seen[targets[e]]) {
+                    seen[targets[e]] = true;
+                    queue.add(targets[e]);
+                }
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,86 @@
+package graph.condensation;
+
+import graph.TestGraphs;
+import graph.dagsp.LongestPath;
+import graph.dagsp.SPResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+// Minimal tests for TransitiveReduction.
+// testRandomGraphs: the kept edges are exactly the non-redundant ones (checked by brute force), also
+// with a one-word memory budget that forces many chunks, and node-model longest paths do not change.
+public class TransitiveReductionTest {
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            Graph g = TestGraphs.randomGraph(random, 150, 4, 5, 0, "node");
+            int n = g.getN();
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+
+            SimpleMetrics metrics = new SimpleMetrics();
+            CondensationResult reduced = new TransitiveReduction().reduce(cr, topo, metrics);
+            CondensationResult chunked = new TransitiveReduction(8).reduce(cr, topo, null);
+
+            Set<Long> expected = irredundantEdges(cr.getComponentGraph());
+            Assertions.assertEquals(expected, edgeSet(reduced.getComponentGraph()));
+            Assertions.assertEquals(expected, edgeSet(chunked.getComponentGraph()));
+            Assertions.assertEquals(cr.getComponentGraph().getEdgeCount() - expected.size(),
+                    metrics.get("reduction.edges.removed"));
+
+            int source = random.nextInt(n);
+            SPResult full = new LongestPath().longestPath(cr, g, topo, source, "node", null);
+            SPResult small = new LongestPath().longestPath(reduced, g, topo, source, "node", null);
+            Assertions.assertArrayEquals(full.componentDistance, small.componentDistance);
+        }
+    }
+
+    // Edge u->v is kept iff v is not reachable from u without it.
+    private static Set<Long> irredundantEdges(CsrGraph dag) {
+        Set<Long> result = new HashSet<>();
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        for (int u = 0; u < dag.getN(); u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                boolean[] seen = new boolean[dag.getN()];
+                Deque<Integer> stack = new ArrayDeque<>();
+                for (int f = offsets[u]; f < offsets[u + 1]; f++) {
+                    if (f != e) {
+                        stack.push(targets[f]);
+                    }
+                }
+                while (!stack.isEmpty()) {
+                    int w = stack.pop();
+                    if (!seen[w]) {
+                        seen[w] = true;
+                        for (int f = offsets[w]; f < offsets[w + 1]; f++) {
+                            stack.push(targets[f]);
+                        }
+                    }
+                }
+                if (!seen[targets[e]]) {
+                    result.add(((long) u << 32) | targets[e]);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Set<Long> edgeSet(CsrGraph dag) {
+        Set<Long> result = new HashSet<>();
+        for (int u = 0; u < dag.getN(); u++) {
+            for (int e = dag.getOffsets()[u]; e < dag.getOffsets()[u + 1]; e++) {
+                result.add(((long) u << 32) | dag.getTargets()[e]);
+            }
+        }
+        return result;
+    }
+}
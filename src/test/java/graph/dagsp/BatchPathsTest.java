@@ -0,0 +1,44 @@
+package graph.dagsp;
+
+import graph.TestGraphs;
+import graph.condensation.CondensationResult;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+// Minimal tests for BatchPaths.
+// testMatchesSingleSource: for both weight models, every source's batched shortest and longest distances
+// equal the single-source kernels, sequentially and in parallel, with a partial last block.
+public class BatchPathsTest {
+
+    @Test
+    public void testMatchesSingleSource() {
+        Random random = new Random(29);
+        for (int round = 0; round < 6; round++) {
+            String model = TestGraphs.alternatingModel(round);
+            Graph g = TestGraphs.randomGraph(random, 120, 3, 10, 10, model);
+            int n = g.getN();
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+
+            int[] sources = new int[21];
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = random.nextInt(n);
+            }
+            SimpleMetrics metrics = new SimpleMetrics();
+            long[][] shortest = new BatchPaths(8, 1).shortestDistances(cr, g, topo, sources, model, metrics);
+            long[][] longest = new BatchPaths(8, 3).longestDistances(cr, g, topo, sources, model, null);
+            Assertions.assertEquals(3, metrics.get("dag.batch.blocks"));
+            for (int i = 0; i < sources.length; i++) {
+                Assertions.assertArrayEquals(new ShortestPaths().shortestPaths(cr, g, topo, sources[i], model, null)
+                        .componentDistance, shortest[i]);
+                Assertions.assertArrayEquals(new LongestPath().longestPath(cr, g, topo, sources[i], model, null)
+                        .componentDistance, longest[i]);
+            }
+        }
+    }
+}
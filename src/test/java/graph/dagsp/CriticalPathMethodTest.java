@@ -0,0 +1,146 @@
+package graph.dagsp;
+
+import graph.TestGraphs;
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Minimal tests for CriticalPathMethod.
+// testDiamond: hand-checked schedule of a -> {b, c} -> d with a cycle folded into d.
+// testRandomGraphs: both weight models match a fixpoint relaxation of the CPM equations, and the
+// node-model project duration equals the largest longest-path distance from any component.
+public class CriticalPathMethodTest {
+
+    @Test
+    public void testDiamond() {
+        // Durations a=3, b=2, c=4, d=1 (+ e=0 in a cycle with d).
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(0, 1, null));
+        edges.add(new Edge(0, 2, null));
+        edges.add(new Edge(1, 3, null));
+        edges.add(new Edge(2, 3, null));
+        edges.add(new Edge(3, 4, null));
+        edges.add(new Edge(4, 3, null));
+        Graph g = TestGraphs.graph(new int[]{3, 2, 4, 1, 0}, edges, 0, "node");
+        CondensationResult cr = TestGraphs.condense(g);
+        TopoResult topo = TestGraphs.kahn(cr);
+
+        SimpleMetrics metrics = new SimpleMetrics();
+        CpmResult result = new CriticalPathMethod().compute(cr, g, topo, "node", metrics);
+
+        Assertions.assertEquals(8, result.projectDuration);
+        Assertions.assertArrayEquals(new long[]{0, 3, 3, 7, 7}, result.earliestStart);
+        Assertions.assertArrayEquals(new long[]{3, 5, 7, 8, 8}, result.earliestFinish);
+        Assertions.assertArrayEquals(new long[]{0, 5, 3, 7, 7}, result.latestStart);
+        Assertions.assertArrayEquals(new long[]{0, 2, 0, 0, 0}, result.totalSlack);
+        Assertions.assertArrayEquals(new long[]{0, 2, 0, 0, 0}, result.freeSlack);
+        Assertions.assertEquals(4, result.criticalCount());
+        Assertions.assertEquals(4, metrics.get("cpm.critical.nodes"));
+        Assertions.assertEquals(8, metrics.get("cpm.project.duration"));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(41);
+        for (int round = 0; round < 20; round++) {
+            String model = TestGraphs.alternatingModel(round);
+            Graph g = TestGraphs.randomGraph(random, 100, 3, 10, 10, model);
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+            CpmResult result = new CriticalPathMethod().compute(cr, g, topo, model, null);
+
+            checkFixpoint(cr, g, model, result);
+
+            if (!"node".equals(model)) {
+                continue; // LongestPath folds parallel edges to their minimum weight, CPM to the maximum
+            }
+            long longest = 0;
+            for (int c = 0; c < cr.getComponentCount(); c++) {
+                int source = cr.getComponents().get(c).get(0);
+                SPResult lp = new LongestPath().longestPath(cr, g, topo, source, model, null);
+                for (long d : lp.componentDistance) {
+                    longest = Math.max(longest, d);
+                }
+            }
+            Assertions.assertEquals(longest, result.projectDuration);
+        }
+    }
+
+    // Solves the CPM equations by repeated relaxation over the original edges and compares per node.
+    private static void checkFixpoint(CondensationResult cr, Graph g, String model, CpmResult result) {
+        int k = cr.getComponentCount();
+        int[] nodeToComponent = cr.getNodeToComponent();
+        CsrGraph csr = g.getCsr();
+        long[] duration = new long[k];
+        if ("node".equals(model)) {
+            for (int node = 0; node < g.getN(); node++) {
+                duration[nodeToComponent[node]] += csr.getDurations()[node];
+            }
+        }
+        long[] es = new long[k];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int u = 0; u < g.getN(); u++) {
+                for (int e = csr.getOffsets()[u]; e < csr.getOffsets()[u + 1]; e++) {
+                    int cu = nodeToComponent[u];
+                    int cv = nodeToComponent[csr.getTargets()[e]];
+                    long lag = "node".equals(model) ? 0 : csr.getWeights()[e];
+                    if (cu != cv && es[cu] + duration[cu] + lag > es[cv]) {
+                        es[cv] = es[cu] + duration[cu] + lag;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        long project = 0;
+        for (int c = 0; c < k; c++) {
+            project = Math.max(project, es[c] + duration[c]);
+        }
+        long[] lf = new long[k];
+        long[] freeFinish = new long[k];
+        Arrays.fill(lf, project);
+        Arrays.fill(freeFinish, project);
+        changed = true;
+        while (changed) {
+            changed = false;
+            for (int u = 0; u < g.getN(); u++) {
+                for (int e = csr.getOffsets()[u]; e < csr.getOffsets()[u + 1]; e++) {
+                    int cu = nodeToComponent[u];
+                    int cv = nodeToComponent[csr.getTargets()[e]];
+                    long lag = "node".equals(model) ? 0 : csr.getWeights()[e];
+                    if (cu != cv && lf[cv] - duration[cv] - lag < lf[cu]) {
+                        lf[cu] = lf[cv] - duration[cv] - lag;
+                        changed = true;
+                    }
+                    if (cu != cv) {
+                        freeFinish[cu] = Math.min(freeFinish[cu], es[cv] - lag);
+                    }
+                }
+            }
+        }
+
+        Assertions.assertEquals(project, result.projectDuration);
+        for (int node = 0; node < g.getN(); node++) {
+            int c = nodeToComponent[node];
+            Assertions.assertEquals(es[c], result.earliestStart[node]);
+            Assertions.assertEquals(es[c] + duration[c], result.earliestFinish[node]);
+            Assertions.assertEquals(lf[c], result.latestFinish[node]);
+            Assertions.assertEquals(lf[c] - duration[c], result.latestStart[node]);
+            Assertions.assertEquals(lf[c] - duration[c] - es[c], result.totalSlack[node]);
+            Assertions.assertEquals(freeFinish[c] - es[c] - duration[c], result.freeSlack[node]);
+            Assertions.assertTrue(result.freeSlack[node] >= 0);
+            Assertions.assertTrue(result.freeSlack[node] <= result.totalSlack[node]);
+        }
+    }
+}
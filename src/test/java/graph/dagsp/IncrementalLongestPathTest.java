@@ -0,0 +1,82 @@
+package graph.dagsp;
+
+import graph.TestGraphs;
+import graph.condensation.CondensationResult;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Minimal tests for IncrementalLongestPath.
+// testMatchesFullRecompute: after single and batched duration updates, distances and parents equal a
+// full LongestPath run on a graph rebuilt with the new durations, in both weight models.
+// testEarlyStop: raising a duration that stays off the critical path stops at the join, whose value
+// does not change.
+public class IncrementalLongestPathTest {
+
+    @Test
+    public void testMatchesFullRecompute() {
+        Random random = new Random(53);
+        for (int round = 0; round < 10; round++) {
+            int n = 1 + random.nextInt(80);
+            int[] durations = TestGraphs.randomDurations(random, n, 10);
+            List<Edge> edges = TestGraphs.randomEdges(random, n, random.nextInt(3 * n), 0, 10);
+            String model = round % 3 == 2 ? "edge" : "node";
+            int source = random.nextInt(n);
+            Graph g = TestGraphs.graph(durations, edges, source, model);
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+            IncrementalLongestPath incremental = new IncrementalLongestPath(cr, g, topo, source, model, null);
+
+            for (int step = 0; step < 15; step++) {
+                int batch = step % 2 == 0 ? 1 : 1 + random.nextInt(5);
+                int[] nodes = new int[batch];
+                int[] values = new int[batch];
+                for (int i = 0; i < batch; i++) {
+                    nodes[i] = random.nextInt(n);
+                    values[i] = random.nextInt(20);
+                    durations[nodes[i]] = values[i];
+                }
+                if (batch == 1) {
+                    incremental.updateDuration(nodes[0], values[0], null);
+                } else {
+                    incremental.updateDurations(nodes, values, null);
+                }
+
+                Graph updated = TestGraphs.graph(durations, edges, source, model);
+                CondensationResult fresh = TestGraphs.condense(updated);
+                SPResult expected = new LongestPath().longestPath(fresh, updated, topo, source, model, null);
+                Assertions.assertArrayEquals(expected.componentDistance, incremental.getResult().componentDistance);
+                Assertions.assertArrayEquals(expected.parentComponent, incremental.getResult().parentComponent);
+            }
+        }
+    }
+
+    @Test
+    public void testEarlyStop() {
+        // 0 -> 1 -> 3 and 0 -> 2 -> 3, with 1 much longer than 2.
+        int[] durations = {1, 10, 1, 1};
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(0, 1, null));
+        edges.add(new Edge(0, 2, null));
+        edges.add(new Edge(1, 3, null));
+        edges.add(new Edge(2, 3, null));
+        Graph g = TestGraphs.graph(durations, edges, 0, "node");
+        CondensationResult cr = TestGraphs.condense(g);
+        TopoResult topo = TestGraphs.kahn(cr);
+        IncrementalLongestPath incremental = new IncrementalLongestPath(cr, g, topo, 0, "node", null);
+
+        SimpleMetrics metrics = new SimpleMetrics();
+        incremental.updateDuration(2, 5, metrics);
+        Assertions.assertEquals(2, metrics.get("dag.incremental.recomputed"));
+        Assertions.assertEquals(1, metrics.get("dag.incremental.changed"));
+        Assertions.assertEquals(12, incremental.distanceOf(cr.getNodeToComponent()[3]));
+        Assertions.assertEquals(5, incremental.durationOf(2));
+    }
+}
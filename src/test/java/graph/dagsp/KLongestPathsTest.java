@@ -0,0 +1,95 @@
+package graph.dagsp;
+
+import graph.TestGraphs;
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Minimal tests for KLongestPaths.
+// testMatchesBruteForce: in both weight models the lengths of the K longest paths equal the top K of all
+// source-to-sink paths (enumerated by DFS); every path is a distinct, valid source-to-sink path of the
+// reported length, and near-critical enumeration returns exactly the paths within the threshold.
+public class KLongestPathsTest {
+
+    @Test
+    public void testMatchesBruteForce() {
+        Random random = new Random(61);
+        for (int round = 0; round < 20; round++) {
+            String model = TestGraphs.alternatingModel(round);
+            Graph g = TestGraphs.randomGraph(random, 25, 3, 10, 10, model);
+            int sourceNode = random.nextInt(g.getN());
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+            CsrGraph dag = cr.getComponentGraph();
+            long[] weight = ComponentUtils.buildComponentWeight(cr, g.getCsr());
+            int[] edgeWeight = ComponentUtils.buildComponentEdgeWeights(cr, g.getCsr());
+            int source = cr.getNodeToComponent()[sourceNode];
+
+            List<Long> all = new ArrayList<>();
+            collect(dag, weight, edgeWeight, "node".equals(model), source,
+                    "node".equals(model) ? weight[source] : 0L, all);
+            all.sort(Collections.reverseOrder());
+
+            int k = 1 + random.nextInt(40);
+            List<RankedPath> paths = new KLongestPaths().longestPaths(cr, g, topo, sourceNode, model, k, null);
+            Assertions.assertEquals(Math.min(k, all.size()), paths.size());
+            Set<String> distinct = new HashSet<>();
+            for (int i = 0; i < paths.size(); i++) {
+                RankedPath path = paths.get(i);
+                Assertions.assertEquals(all.get(i), path.length);
+                Assertions.assertEquals(path.length, check(dag, weight, edgeWeight, "node".equals(model), source, path));
+                Assertions.assertTrue(distinct.add(Arrays.toString(path.components)));
+            }
+
+            double percent = random.nextInt(30);
+            long threshold = all.get(0) - (long) Math.floor(Math.abs(all.get(0)) * percent / 100.0);
+            long within = all.stream().filter(length -> length >= threshold).count();
+            List<RankedPath> near = new KLongestPaths().nearCriticalPaths(cr, g, topo, sourceNode, model, percent,
+                    1000, null);
+            Assertions.assertEquals(Math.min(within, 1000), near.size());
+        }
+    }
+
+    // Appends the lengths of all paths from v to a sink, given the length so far.
+    private static void collect(CsrGraph dag, long[] weight, int[] edgeWeight, boolean nodeModel, int v,
+                                long length, List<Long> out) {
+        int[] offsets = dag.getOffsets();
+        if (offsets[v] == offsets[v + 1]) {
+            out.add(length);
+            return;
+        }
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            int w = dag.getTargets()[e];
+            collect(dag, weight, edgeWeight, nodeModel, w, length + (nodeModel ? weight[w] : edgeWeight[e]), out);
+        }
+    }
+
+    // Validates the path and returns its length.
+    private static long check(CsrGraph dag, long[] weight, int[] edgeWeight, boolean nodeModel, int source,
+                              RankedPath path) {
+        int[] offsets = dag.getOffsets();
+        int[] components = path.components;
+        Assertions.assertEquals(source, components[0]);
+        int last = components[components.length - 1];
+        Assertions.assertEquals(offsets[last], offsets[last + 1]);
+        long length = nodeModel ? weight[source] : 0L;
+        for (int i = 0; i + 1 < components.length; i++) {
+            int slot = Arrays.binarySearch(dag.getTargets(), offsets[components[i]], offsets[components[i] + 1],
+                    components[i + 1]);
+            Assertions.assertTrue(slot >= 0);
+            length += nodeModel ? weight[components[i + 1]] : edgeWeight[slot];
+        }
+        return length;
+    }
+}
@@ -0,0 +1,152 @@
+package graph.dagsp;
+
+import graph.TestGraphs;
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.topo.LevelTopologicalSorter;
+import graph.topo.TopoResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Minimal tests for PathCounting.
+// testMatchesBruteForce: all-path and critical-path counts through every component equal a DFS
+// enumeration of all source-to-sink paths, in both weight models, sequentially and level-parallel.
+// testModularCounts: on a chain of diamonds (2^40 paths) the residues are exact and the index is 1.
+// testNegativeEdgeWeights: with negative edge weights the critical subgraph follows the least negative
+// path (random graphs above also draw edge weights from -3..3).
+public class PathCountingTest {
+
+    @Test
+    public void testMatchesBruteForce() {
+        Random random = new Random(71);
+        for (int round = 0; round < 20; round++) {
+            String model = TestGraphs.alternatingModel(round);
+            Graph g = TestGraphs.randomGraph(random, 25, 3, 4, -3, 4, model);
+            int n = g.getN();
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+            TopoResult levels = new LevelTopologicalSorter(1).levelSort(cr, null);
+
+            int k = cr.getComponentCount();
+            CsrGraph dag = cr.getComponentGraph();
+            long[] weight = ComponentUtils.buildComponentWeight(cr, g.getCsr());
+            int[] edgeWeight = ComponentUtils.buildComponentEdgeWeights(cr, g.getCsr());
+            List<int[]> paths = new ArrayList<>();
+            List<Long> lengths = new ArrayList<>();
+            int[] indegree = new int[k];
+            for (int e = 0; e < dag.getEdgeCount(); e++) {
+                indegree[dag.getTargets()[e]]++;
+            }
+            for (int c = 0; c < k; c++) {
+                if (indegree[c] == 0) {
+                    collect(dag, weight, edgeWeight, "node".equals(model), new int[]{c},
+                            "node".equals(model) ? weight[c] : 0L, paths, lengths);
+                }
+            }
+            long longest = lengths.stream().mapToLong(Long::longValue).max().orElse(0L);
+
+            for (boolean criticalOnly : new boolean[]{false, true}) {
+                long[] expected = new long[k];
+                long total = 0;
+                for (int p = 0; p < paths.size(); p++) {
+                    if (criticalOnly && lengths.get(p) != longest) {
+                        continue;
+                    }
+                    total++;
+                    for (int c : paths.get(p)) {
+                        expected[c]++;
+                    }
+                }
+                PathCountResult sequential = new PathCounting().count(cr, g, topo, model, criticalOnly, null);
+                PathCountResult parallel = new PathCounting(4, 1).count(cr, g, levels, model, criticalOnly, null);
+                for (PathCountResult result : new PathCountResult[]{sequential, parallel}) {
+                    Assertions.assertEquals(total, (long) result.totalPaths);
+                    Assertions.assertEquals(total, result.totalPathsMod);
+                    for (int node = 0; node < n; node++) {
+                        long through = expected[cr.getNodeToComponent()[node]];
+                        Assertions.assertEquals(through, (long) result.pathsThrough[node]);
+                        Assertions.assertEquals(through, result.pathsThroughMod[node]);
+                        Assertions.assertEquals((double) through / total, result.criticality[node], 1e-12);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testModularCounts() {
+        // 40 diamonds in a row: node 3i -> 3i+1, 3i+2 -> 3i+3.
+        int diamonds = 40;
+        int n = 3 * diamonds + 1;
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < diamonds; i++) {
+            edges.add(new Edge(3 * i, 3 * i + 1, null));
+            edges.add(new Edge(3 * i, 3 * i + 2, null));
+            edges.add(new Edge(3 * i + 1, 3 * i + 3, null));
+            edges.add(new Edge(3 * i + 2, 3 * i + 3, null));
+        }
+        Graph g = TestGraphs.unitGraph(n, edges);
+        CondensationResult cr = TestGraphs.condense(g);
+        TopoResult topo = TestGraphs.kahn(cr);
+        PathCountResult result = new PathCounting().count(cr, g, topo, "node", true, null);
+
+        Assertions.assertEquals(Math.pow(2, diamonds), result.totalPaths);
+        Assertions.assertEquals((1L << diamonds) % PathCounting.MODULUS, result.totalPathsMod);
+        Assertions.assertEquals(1.0, result.criticality[0]);
+        Assertions.assertEquals(0.5, result.criticality[1]);
+        Assertions.assertEquals(1.0, result.criticality[n - 1]);
+    }
+
+    @Test
+    public void testNegativeEdgeWeights() {
+        // Single edge 0 -> 1 with weight -5: one critical path through both nodes.
+        List<Edge> single = new ArrayList<>();
+        single.add(new Edge(0, 1, -5));
+        PathCountResult one = count(2, single);
+        Assertions.assertEquals(1.0, one.totalPaths);
+        Assertions.assertArrayEquals(new double[]{1.0, 1.0}, one.pathsThrough);
+
+        // 0 -> 1 -> 3 has length -5, 0 -> 2 -> 3 has length -3: only the second is critical.
+        List<Edge> diamond = new ArrayList<>();
+        diamond.add(new Edge(0, 1, -5));
+        diamond.add(new Edge(0, 2, -2));
+        diamond.add(new Edge(1, 3, 0));
+        diamond.add(new Edge(2, 3, -1));
+        PathCountResult two = count(4, diamond);
+        Assertions.assertEquals(1.0, two.totalPaths);
+        Assertions.assertArrayEquals(new double[]{1.0, 0.0, 1.0, 1.0}, two.pathsThrough);
+    }
+
+    private static PathCountResult count(int n, List<Edge> edges) {
+        Graph g = TestGraphs.graph(new int[n], edges, 0, "edge");
+        CondensationResult cr = TestGraphs.condense(g);
+        TopoResult topo = TestGraphs.kahn(cr);
+        return new PathCounting().count(cr, g, topo, "edge", true, null);
+    }
+
+    // Appends every path from the last component of prefix to a sink.
+    private static void collect(CsrGraph dag, long[] weight, int[] edgeWeight, boolean nodeModel, int[] prefix,
+                                long length, List<int[]> paths, List<Long> lengths) {
+        int v = prefix[prefix.length - 1];
+        int[] offsets = dag.getOffsets();
+        if (offsets[v] == offsets[v + 1]) {
+            paths.add(prefix);
+            lengths.add(length);
+            return;
+        }
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            int w = dag.getTargets()[e];
+            int[] next = Arrays.copyOf(prefix, prefix.length + 1);
+            next[prefix.length] = w;
+            collect(dag, weight, edgeWeight, nodeModel, next, length + (nodeModel ? weight[w] : edgeWeight[e]),
+                    paths, lengths);
+        }
+    }
+}
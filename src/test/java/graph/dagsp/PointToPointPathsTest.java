@@ -0,0 +1,65 @@
+package graph.dagsp;
+
+import graph.TestGraphs;
+import graph.condensation.CondensationResult;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+// Minimal tests for PointToPointPaths.
+// testMatchesFullSweep: for random pairs, with and without pruning and in both weight models, the
+// distance and component path equal ShortestPaths / LongestPath followed by path reconstruction,
+// unreachable targets give null, and pruning never relaxes more edges than the plain slice.
+public class PointToPointPathsTest {
+
+    @Test
+    public void testMatchesFullSweep() {
+        Random random = new Random(97);
+        for (int round = 0; round < 10; round++) {
+            String model = TestGraphs.alternatingModel(round);
+            Graph g = TestGraphs.randomGraph(random, 100, 3, 10, 10, model);
+            int n = g.getN();
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+            PointToPointPaths queries = new PointToPointPaths(cr, g, topo, model);
+            int[] nodeToComponent = cr.getNodeToComponent();
+
+            for (int q = 0; q < 30; q++) {
+                int source = random.nextInt(n);
+                int target = random.nextInt(n);
+                SPResult sp = new ShortestPaths().shortestPaths(cr, g, topo, source, model, null);
+                SPResult lp = new LongestPath().longestPath(cr, g, topo, source, model, null);
+                SimpleMetrics plain = new SimpleMetrics();
+                SimpleMetrics pruned = new SimpleMetrics();
+                check(sp, Long.MAX_VALUE / 4, nodeToComponent[source], nodeToComponent[target],
+                        queries.shortestPath(source, target, false, plain));
+                check(sp, Long.MAX_VALUE / 4, nodeToComponent[source], nodeToComponent[target],
+                        queries.shortestPath(source, target, true, pruned));
+                check(lp, Long.MIN_VALUE / 4, nodeToComponent[source], nodeToComponent[target],
+                        queries.longestPath(source, target, false, null));
+                check(lp, Long.MIN_VALUE / 4, nodeToComponent[source], nodeToComponent[target],
+                        queries.longestPath(source, target, true, null));
+                Assertions.assertTrue(pruned.get("dag.p2p.relaxations") <= plain.get("dag.p2p.relaxations"));
+            }
+        }
+    }
+
+    private static void check(SPResult full, long unreachable, int source, int target, RankedPath path) {
+        if (full.componentDistance[target] == unreachable) {
+            Assertions.assertNull(path);
+            return;
+        }
+        Assertions.assertNotNull(path);
+        Assertions.assertEquals(full.componentDistance[target], path.length);
+        List<Integer> expected = ComponentUtils.reconstructComponentPath(target, source, full.parentComponent);
+        Assertions.assertEquals(expected.size(), path.components.length);
+        for (int i = 0; i < path.components.length; i++) {
+            Assertions.assertEquals((int) expected.get(i), path.components[i]);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package graph.dagsp;
+
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+// Minimal tests for SPResultCache.
+// testHitsAndLruEviction: repeated keys hit, the least recently used entry is evicted by bytes, and
+// a result larger than the budget is not stored.
+// testVersionInvalidation: a newer version drops every entry and older versions bypass the cache.
+public class SPResultCacheTest {
+
+    @Test
+    public void testHitsAndLruEviction() {
+        long entry = SPResultCache.sizeOf(result(10));
+        SPResultCache cache = new SPResultCache(2 * entry);
+        SimpleMetrics metrics = new SimpleMetrics();
+
+        SPResult a = cache.getOrCompute(1, 0, "node", false, () -> result(10), metrics);
+        Assertions.assertSame(a, cache.getOrCompute(1, 0, "node", false, () -> result(10), metrics));
+        SPResult b = cache.getOrCompute(1, 0, "node", true, () -> result(10), metrics);
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(2 * entry, cache.getBytes());
+
+        // a is more recent than b, so adding c evicts b.
+        cache.get(1, 0, "node", false, metrics);
+        cache.getOrCompute(1, 1, "edge", false, () -> result(10), metrics);
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertSame(a, cache.get(1, 0, "node", false, metrics));
+        Assertions.assertNull(cache.get(1, 0, "node", true, metrics));
+        Assertions.assertNotSame(b, cache.getOrCompute(1, 0, "node", true, () -> result(10), metrics));
+
+        cache.getOrCompute(1, 2, "node", false, () -> result(1000), metrics);
+        Assertions.assertNull(cache.get(1, 2, "node", false, metrics));
+
+        Assertions.assertEquals(3, metrics.get("dag.cache.hits"));
+        Assertions.assertEquals(7, metrics.get("dag.cache.misses"));
+        Assertions.assertEquals(2, metrics.get("dag.cache.evictions"));
+        Assertions.assertEquals(cache.getBytes(), metrics.get("dag.cache.bytes"));
+    }
+
+    @Test
+    public void testVersionInvalidation() {
+        SPResultCache cache = new SPResultCache(1 << 20);
+        SimpleMetrics metrics = new SimpleMetrics();
+        cache.getOrCompute(1, 0, "node", false, () -> result(4), metrics);
+        cache.getOrCompute(1, 1, "node", false, () -> result(4), metrics);
+
+        Assertions.assertNull(cache.get(2, 0, "node", false, metrics));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(2, metrics.get("dag.cache.invalidations"));
+
+        SPResult current = cache.getOrCompute(2, 0, "node", false, () -> result(4), metrics);
+        cache.getOrCompute(1, 0, "node", false, () -> result(4), metrics);
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertSame(current, cache.get(2, 0, "node", false, metrics));
+    }
+
+    private static SPResult result(int k) {
+        return new SPResult(new long[k], new int[k]);
+    }
+}
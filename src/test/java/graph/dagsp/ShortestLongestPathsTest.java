@@ -1,5 +1,6 @@
 package graph.dagsp;
 
+import graph.TestGraphs;
 import graph.condensation.*;
 import graph.model.*;
 import graph.scc.Tarjan;
@@ -8,12 +9,12 @@ import metrics.SimpleMetrics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 // Minimal tests for ShortestPaths and LongestPath on small DAGs.
 // testNodeModelChain: 0->1->2 with node durations 2,3,4.
 // testEdgeModelChain: 0->1 (w=3), 1->2 (w=5).
+// testFusedMatchesSeparate: FusedPaths gives the same distances, parents and relaxations as the two kernels.
 public class ShortestLongestPathsTest {
 
     @Test
@@ -116,4 +117,31 @@ public class ShortestLongestPathsTest {
         Assertions.assertEquals(3L, lpRes.componentDistance[nodeToComp[1]]);
         Assertions.assertEquals(8L, lpRes.componentDistance[nodeToComp[2]]);
     }
+
+    @Test
+    public void testFusedMatchesSeparate() {
+        Random random = new Random(23);
+        for (int round = 0; round < 20; round++) {
+            String model = TestGraphs.alternatingModel(round);
+            Graph g = TestGraphs.randomGraph(random, 80, 3, 10, 10, model);
+            int n = g.getN();
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+            int source = random.nextInt(n);
+
+            SimpleMetrics separate = new SimpleMetrics();
+            SPResult sp = new ShortestPaths().shortestPaths(cr, g, topo, source, model, separate);
+            SPResult lp = new LongestPath().longestPath(cr, g, topo, source, model, separate);
+            SimpleMetrics fusedMetrics = new SimpleMetrics();
+            FusedPathsResult fused = new FusedPaths().compute(cr, g, topo, source, model, fusedMetrics);
+
+            Assertions.assertArrayEquals(sp.componentDistance, fused.shortest.componentDistance);
+            Assertions.assertArrayEquals(sp.parentComponent, fused.shortest.parentComponent);
+            Assertions.assertArrayEquals(lp.componentDistance, fused.longest.componentDistance);
+            Assertions.assertArrayEquals(lp.parentComponent, fused.longest.parentComponent);
+            Assertions.assertEquals(separate.get("dag.relaxations"), fusedMetrics.get("dag.relaxations"));
+            Assertions.assertEquals(fused.shortestRelaxations, fusedMetrics.get("dag.relaxations.shortest"));
+            Assertions.assertEquals(fused.longestRelaxations, fusedMetrics.get("dag.relaxations.longest"));
+        }
+    }
 }
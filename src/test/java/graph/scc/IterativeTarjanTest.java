@@ -0,0 +1,54 @@
+package graph.scc;
+
+import graph.TestGraphs;
+import graph.model.*;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+// Minimal tests for IterativeTarjan.
+// testDeepCycle: a 200k-node cycle would overflow the recursive Tarjan; it must give one SCC.
+// testMatchesRecursiveTarjan: random graphs give the same components, in the same order, as Tarjan.
+public class IterativeTarjanTest {
+
+    @Test
+    public void testDeepCycle() {
+        int n = 200_000;
+        int[] us = new int[n];
+        int[] vs = new int[n];
+        for (int i = 0; i < n; i++) {
+            us[i] = i;
+            vs[i] = (i + 1) % n;
+        }
+        CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, null, n, null);
+
+        SimpleMetrics metrics = new SimpleMetrics();
+        SccResult res = new IterativeTarjan(g).findSCCs(metrics);
+
+        Assertions.assertEquals(1, res.getComponentCount(), "Expected single SCC for the long cycle");
+        Assertions.assertEquals(n, res.componentSize(0));
+        Assertions.assertEquals(n, metrics.get("scc.dfs.visits"));
+        Assertions.assertEquals(n, metrics.get("scc.dfs.edges"));
+    }
+
+    @Test
+    public void testMatchesRecursiveTarjan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(60);
+            Graph g = TestGraphs.unitGraph(n, TestGraphs.randomEdges(random, n, random.nextInt(3 * n), 0, 0));
+
+            List<List<Integer>> expected = new Tarjan(g).findSCCs(new SimpleMetrics());
+            SccResult res = new IterativeTarjan(g).findSCCs(new SimpleMetrics());
+
+            Assertions.assertEquals(expected, res.toComponentList());
+            for (int c = 0; c < res.getComponentCount(); c++) {
+                for (int node : expected.get(c)) {
+                    Assertions.assertEquals(c, res.getComponentOf()[node]);
+                }
+            }
+        }
+    }
+}
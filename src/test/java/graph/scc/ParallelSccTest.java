@@ -0,0 +1,72 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+// Minimal tests for ParallelScc.
+// testSamePartitionAsTarjan: random graphs with a forced forward-backward path give Tarjan's partition.
+// testGiantCycle: a large cycle with chords takes the parallel BFS path and yields one SCC.
+public class ParallelSccTest {
+
+    @Test
+    public void testSamePartitionAsTarjan() {
+        Random random = new Random(11);
+        for (int round = 0; round < 30; round++) {
+            int n = 1 + random.nextInt(300);
+            int m = random.nextInt(3 * n);
+            int[] us = new int[m];
+            int[] vs = new int[m];
+            for (int i = 0; i < m; i++) {
+                us[i] = random.nextInt(n);
+                vs[i] = random.nextInt(n);
+            }
+            CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, null, m, null);
+
+            SccResult expected = new IterativeTarjan(g).findSCCs(null);
+            SccResult res = new ParallelScc(g, 4, 4).findSCCs(new SimpleMetrics());
+
+            Assertions.assertEquals(expected.getComponentCount(), res.getComponentCount());
+            assertSamePartition(expected, res, n);
+        }
+    }
+
+    @Test
+    public void testGiantCycle() {
+        int n = 50_000;
+        int m = n + n / 10;
+        int[] us = new int[m];
+        int[] vs = new int[m];
+        for (int i = 0; i < n; i++) {
+            us[i] = i;
+            vs[i] = (i + 1) % n;
+        }
+        Random random = new Random(3);
+        for (int i = n; i < m; i++) {
+            us[i] = random.nextInt(n);
+            vs[i] = random.nextInt(n);
+        }
+        CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, null, m, null);
+
+        SimpleMetrics metrics = new SimpleMetrics();
+        SccResult res = new ParallelScc(g, 4).findSCCs(metrics);
+
+        Assertions.assertEquals(1, res.getComponentCount());
+        Assertions.assertEquals(1, metrics.get("scc.parallel.pivots"));
+    }
+
+    // Two results describe the same partition if the component mapping is a bijection.
+    private static void assertSamePartition(SccResult expected, SccResult actual, int n) {
+        Map<Integer, Integer> mapping = new HashMap<>();
+        for (int node = 0; node < n; node++) {
+            Integer previous = mapping.putIfAbsent(expected.getComponentOf()[node], actual.getComponentOf()[node]);
+            if (previous != null) {
+                Assertions.assertEquals(previous.intValue(), actual.getComponentOf()[node], "partition differs at node " + node);
+            }
+        }
+        Assertions.assertEquals(new HashSet<>(mapping.values()).size(), mapping.size());
+    }
+}
@@ -0,0 +1,105 @@
+package graph.scc;
+
+import graph.model.CsrGraph;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+// Minimal tests for the selectable SCC engines.
+// testAllEnginesAgree: every registered engine yields Tarjan's partition on random graphs and records
+// its working memory.
+// testComponentNumbering: Tarjan-style engines number components in reverse topological order,
+// Kosaraju in topological order.
+public class SccAlgorithmsTest {
+
+    @Test
+    public void testAllEnginesAgree() {
+        Random random = new Random(5);
+        for (int round = 0; round < 25; round++) {
+            CsrGraph g = randomGraph(random);
+            SccResult expected = new IterativeTarjan(g).findSCCs(null);
+            for (String name : SccAlgorithms.names()) {
+                SimpleMetrics metrics = new SimpleMetrics();
+                SccAlgorithm algorithm = SccAlgorithms.byName(name, 2);
+                SccResult res = algorithm.findSCCs(g, metrics);
+
+                Assertions.assertEquals(name, algorithm.getName());
+                Assertions.assertEquals(expected.getComponentCount(), res.getComponentCount(), name);
+                assertSamePartition(expected, res, g.getN(), name);
+                Assertions.assertTrue(metrics.get("scc.memory.bytes") > 0 || g.getN() == 0, name);
+                // At least one int of working memory per node.
+                Assertions.assertTrue(metrics.get("scc.memory.bytes") >= 4L * g.getN(), name);
+            }
+        }
+    }
+
+    @Test
+    public void testComponentNumbering() {
+        Random random = new Random(9);
+        for (int round = 0; round < 25; round++) {
+            CsrGraph g = randomGraph(random);
+            for (String name : Arrays.asList(SccAlgorithms.TARJAN, SccAlgorithms.PEARCE,
+                    SccAlgorithms.TRIM_TARJAN, SccAlgorithms.KOSARAJU)) {
+                int[] componentOf = SccAlgorithms.byName(name, 1).findSCCs(g, new SimpleMetrics()).getComponentOf();
+                for (int u = 0; u < g.getN(); u++) {
+                    for (int e = g.getOffsets()[u]; e < g.getOffsets()[u + 1]; e++) {
+                        int cu = componentOf[u];
+                        int cv = componentOf[g.getTargets()[e]];
+                        if (name.equals(SccAlgorithms.KOSARAJU)) {
+                            Assertions.assertTrue(cu <= cv, name + " edge " + cu + "->" + cv);
+                        } else {
+                            Assertions.assertTrue(cu >= cv, name + " edge " + cu + "->" + cv);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTrimmingPrePass() {
+        // 0->1->2->0 is the only cycle; 3 feeds it, 4 hangs off it, 5->6 is an isolated chain
+        int[] us = {0, 1, 2, 3, 2, 5};
+        int[] vs = {1, 2, 0, 0, 4, 6};
+        CsrGraph g = CsrGraph.fromEdgeArrays(7, us, vs, null, us.length, null);
+
+        for (String name : SccAlgorithms.names()) {
+            SimpleMetrics metrics = new SimpleMetrics();
+            SccResult res = SccAlgorithms.byName(name, 2, true).findSCCs(g, metrics);
+            Assertions.assertEquals(5, res.getComponentCount(), name);
+            Assertions.assertEquals(4, metrics.get("scc.trim.nodes"), name);
+            Assertions.assertEquals(3, metrics.get("scc.trim.core.nodes"), name);
+            Assertions.assertEquals(res.getComponentOf()[0], res.getComponentOf()[2], name);
+        }
+    }
+
+    @Test
+    public void testUnknownName() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SccAlgorithms.byName("nope", 1));
+    }
+
+    private static CsrGraph randomGraph(Random random) {
+        int n = random.nextInt(80);
+        int m = n == 0 ? 0 : random.nextInt(2 * n + 1);
+        int[] us = new int[m];
+        int[] vs = new int[m];
+        for (int i = 0; i < m; i++) {
+            us[i] = random.nextInt(n);
+            vs[i] = random.nextInt(n);
+        }
+        return CsrGraph.fromEdgeArrays(n, us, vs, null, m, null);
+    }
+
+    private static void assertSamePartition(SccResult expected, SccResult actual, int n, String name) {
+        Map<Integer, Integer> mapping = new HashMap<>();
+        for (int node = 0; node < n; node++) {
+            Integer previous = mapping.putIfAbsent(expected.getComponentOf()[node], actual.getComponentOf()[node]);
+            if (previous != null) {
+                Assertions.assertEquals(previous.intValue(), actual.getComponentOf()[node], name + " differs at node " + node);
+            }
+        }
+        Assertions.assertEquals(new HashSet<>(mapping.values()).size(), mapping.size(), name);
+    }
+}
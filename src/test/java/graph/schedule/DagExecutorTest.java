@@ -0,0 +1,106 @@
+package graph.schedule;
+
+import graph.TestGraphs;
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Edge;
+import graph.model.Graph;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Minimal tests for DagExecutor.
+// testRespectsDependencies: every task runs exactly once, and across different SCCs a task starts only
+// after all its predecessors finished, sequentially and with several workers; metrics are reported.
+// testFailureStopsSuccessors: an exception is rethrown only after a running independent branch finished,
+// and neither the failed task's successor nor that branch's successor runs.
+public class DagExecutorTest {
+
+    @Test
+    public void testRespectsDependencies() {
+        Random random = new Random(107);
+        for (int round = 0; round < 10; round++) {
+            int n = 1 + random.nextInt(200);
+            Graph g = TestGraphs.unitGraph(n, TestGraphs.randomEdges(random, n, random.nextInt(3 * n), 0, 0));
+            CondensationResult cr = TestGraphs.condense(g);
+
+            for (int parallelism : new int[]{1, 4}) {
+                AtomicInteger clock = new AtomicInteger();
+                int[] startedAt = new int[n];
+                int[] finishedAt = new int[n];
+                AtomicInteger[] runs = new AtomicInteger[n];
+                Runnable[] tasks = new Runnable[n];
+                for (int node = 0; node < n; node++) {
+                    int id = node;
+                    runs[node] = new AtomicInteger();
+                    tasks[node] = () -> {
+                        startedAt[id] = clock.incrementAndGet();
+                        runs[id].incrementAndGet();
+                        finishedAt[id] = clock.incrementAndGet();
+                    };
+                }
+                SimpleMetrics metrics = new SimpleMetrics();
+                ExecutionResult result = new DagExecutor(parallelism).execute(cr, tasks, metrics);
+
+                Assertions.assertEquals(n, result.tasks);
+                Assertions.assertEquals(n, metrics.get("dag.exec.tasks"));
+                Assertions.assertTrue(metrics.get("dag.exec.time.nanos") > 0);
+                CsrGraph csr = g.getCsr();
+                int[] nodeToComponent = cr.getNodeToComponent();
+                for (int u = 0; u < n; u++) {
+                    Assertions.assertEquals(1, runs[u].get());
+                    Assertions.assertTrue(result.nodeLatencyNanos[u] >= 0);
+                    for (int e = csr.getOffsets()[u]; e < csr.getOffsets()[u + 1]; e++) {
+                        int v = csr.getTargets()[e];
+                        if (nodeToComponent[u] != nodeToComponent[v]) {
+                            Assertions.assertTrue(finishedAt[u] < startedAt[v]);
+                        }
+                    }
+                }
+                for (long wait : result.componentQueueWaitNanos) {
+                    Assertions.assertTrue(wait >= 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFailureStopsSuccessors() {
+        // 0 fails -> 1; independent slow branch 2 -> 3.
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(0, 1, null));
+        edges.add(new Edge(2, 3, null));
+        CondensationResult cr = TestGraphs.condense(TestGraphs.unitGraph(4, edges));
+        AtomicBoolean successorRan = new AtomicBoolean();
+        AtomicInteger slowStarted = new AtomicInteger();
+        AtomicInteger slowFinished = new AtomicInteger();
+        AtomicBoolean slowSuccessorRan = new AtomicBoolean();
+        Runnable[] tasks = {
+                () -> {
+                    throw new IllegalStateException("task failed");
+                },
+                () -> successorRan.set(true),
+                () -> {
+                    slowStarted.incrementAndGet();
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    slowFinished.incrementAndGet();
+                },
+                () -> slowSuccessorRan.set(true)
+        };
+        Assertions.assertThrows(IllegalStateException.class, () -> new DagExecutor(2).execute(cr, tasks, null));
+        // Nothing is left running once execute has thrown, and the failure stops the other branch too.
+        Assertions.assertEquals(slowStarted.get(), slowFinished.get());
+        Assertions.assertFalse(successorRan.get());
+        Assertions.assertFalse(slowSuccessorRan.get());
+    }
+}
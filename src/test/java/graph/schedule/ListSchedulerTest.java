@@ -0,0 +1,114 @@
+package graph.schedule;
+
+import graph.TestGraphs;
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.model.Edge;
+import graph.model.Graph;
+import graph.topo.TopoResult;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Minimal tests for ListScheduler.
+// testForkJoin: hand-checked two-worker schedule where the bottom level decides which branch goes first.
+// testRandomGraphs: every schedule respects precedence and never overlaps tasks on a worker; one worker
+// gives the total work and enough workers give the critical path length.
+public class ListSchedulerTest {
+
+    @Test
+    public void testForkJoin() {
+        // 0 -> {1, 2, 3} -> 4; durations 1, 2, 5, 3, 1.
+        int[] durations = {1, 2, 5, 3, 1};
+        List<Edge> edges = new ArrayList<>();
+        for (int branch = 1; branch <= 3; branch++) {
+            edges.add(new Edge(0, branch, null));
+            edges.add(new Edge(branch, 4, null));
+        }
+        Graph g = TestGraphs.graph(durations, edges, 0, "node");
+        CondensationResult cr = TestGraphs.condense(g);
+        TopoResult topo = TestGraphs.kahn(cr);
+
+        SimpleMetrics metrics = new SimpleMetrics();
+        ScheduleResult result = new ListScheduler(2).schedule(cr, g, topo, metrics);
+        // Node 2 (bottom level 6) and node 3 (4) start first; node 1 follows on node 3's worker.
+        Assertions.assertArrayEquals(new long[]{0, 4, 1, 1, 6}, result.nodeStart);
+        Assertions.assertEquals(result.nodeWorker[3], result.nodeWorker[1]);
+        Assertions.assertNotEquals(result.nodeWorker[2], result.nodeWorker[3]);
+        Assertions.assertEquals(7, result.makespan);
+        Assertions.assertEquals(7, result.criticalPathLength);
+        Assertions.assertEquals(7, metrics.get("schedule.makespan"));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(101);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(150);
+            int[] durations = TestGraphs.randomDurations(random, n, 10);
+            long total = 0;
+            for (int duration : durations) {
+                total += duration;
+            }
+            List<Edge> edges = TestGraphs.randomEdges(random, n, random.nextInt(3 * n), 0, 0);
+            Graph g = TestGraphs.graph(durations, edges, 0, "node");
+            CondensationResult cr = TestGraphs.condense(g);
+            TopoResult topo = TestGraphs.kahn(cr);
+
+            for (int workers : new int[]{1, 2, 3, 8, n}) {
+                ScheduleResult result = new ListScheduler(workers).schedule(cr, g, topo, null);
+                check(g, durations, workers, result);
+                if (workers == 1) {
+                    Assertions.assertEquals(total, result.makespan);
+                }
+                if (workers >= cr.getComponentCount()) {
+                    Assertions.assertEquals(result.criticalPathLength, result.makespan);
+                }
+                Assertions.assertTrue(result.makespan >= result.criticalPathLength);
+            }
+        }
+    }
+
+    private static void check(Graph g, int[] durations, int workers, ScheduleResult result) {
+        CsrGraph csr = g.getCsr();
+        int n = g.getN();
+        long makespan = 0;
+        for (int u = 0; u < n; u++) {
+            Assertions.assertTrue(result.nodeWorker[u] >= 0 && result.nodeWorker[u] < workers);
+            makespan = Math.max(makespan, result.nodeStart[u] + durations[u]);
+            for (int v = u + 1; v < n; v++) {
+                if (result.nodeWorker[u] == result.nodeWorker[v] && durations[u] > 0 && durations[v] > 0) {
+                    boolean disjoint = result.nodeStart[u] + durations[u] <= result.nodeStart[v]
+                            || result.nodeStart[v] + durations[v] <= result.nodeStart[u];
+                    Assertions.assertTrue(disjoint);
+                }
+            }
+        }
+        Assertions.assertEquals(makespan, result.makespan);
+        // Precedence between different SCCs: the successor starts after the predecessor finishes.
+        CondensationResult cr = TestGraphs.condense(g);
+        for (int u = 0; u < n; u++) {
+            for (int e = csr.getOffsets()[u]; e < csr.getOffsets()[u + 1]; e++) {
+                int v = csr.getTargets()[e];
+                int cu = cr.getNodeToComponent()[u];
+                int cv = cr.getNodeToComponent()[v];
+                if (cu != cv) {
+                    Assertions.assertTrue(result.componentStart[cv] >= result.componentStart[cu]
+                            + componentWeight(cr, durations, cu));
+                }
+            }
+        }
+    }
+
+    private static long componentWeight(CondensationResult cr, int[] durations, int c) {
+        long weight = 0;
+        for (int node : cr.getComponents().get(c)) {
+            weight += durations[node];
+        }
+        return weight;
+    }
+}
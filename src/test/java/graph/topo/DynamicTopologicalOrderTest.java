@@ -0,0 +1,84 @@
+package graph.topo;
+
+import graph.condensation.CondensationBuilder;
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.scc.IterativeTarjan;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+// Minimal tests for DynamicTopologicalOrder.
+// testRandomInsertions: every insertion is accepted exactly when it keeps the DAG acyclic (checked by
+// brute-force reachability), and the maintained order stays valid for all edges inserted so far.
+public class DynamicTopologicalOrderTest {
+
+    @Test
+    public void testRandomInsertions() {
+        Random random = new Random(17);
+        for (int round = 0; round < 10; round++) {
+            int n = 2 + random.nextInt(60);
+            int m = random.nextInt(n);
+            int[] us = new int[m];
+            int[] vs = new int[m];
+            for (int i = 0; i < m; i++) {
+                us[i] = random.nextInt(n);
+                vs[i] = random.nextInt(n);
+            }
+            CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, null, m, null);
+            CondensationResult cr = new CondensationBuilder().build(g, new IterativeTarjan(g).findSCCs(null), null);
+            int k = cr.getComponentCount();
+            List<Set<Integer>> adjacency = new ArrayList<>();
+            for (int c = 0; c < k; c++) {
+                adjacency.add(new HashSet<>(cr.getAdjacentComponents().get(c)));
+            }
+
+            DynamicTopologicalOrder order = new DynamicTopologicalOrder(cr);
+            SimpleMetrics metrics = new SimpleMetrics();
+            int rejected = 0;
+            for (int step = 0; step < 4 * k; step++) {
+                int u = random.nextInt(k);
+                int v = random.nextInt(k);
+                boolean acyclic = u != v && !reaches(adjacency, v, u);
+                Assertions.assertEquals(acyclic, order.canAddEdge(u, v));
+                Assertions.assertEquals(acyclic, order.addEdge(u, v, metrics));
+                if (acyclic) {
+                    adjacency.get(u).add(v);
+                } else {
+                    rejected++;
+                }
+                for (int a = 0; a < k; a++) {
+                    Assertions.assertEquals(a, order.componentAt(order.positionOf(a)));
+                    for (int b : adjacency.get(a)) {
+                        Assertions.assertTrue(order.positionOf(a) < order.positionOf(b));
+                    }
+                }
+            }
+            Assertions.assertEquals(rejected, metrics.get("topo.dynamic.cycles"));
+            Assertions.assertEquals(4L * k, metrics.get("topo.dynamic.inserts"));
+            Assertions.assertEquals(n, order.toTopoResult().getDerivedOrder().size());
+        }
+    }
+
+    private static boolean reaches(List<Set<Integer>> adjacency, int from, int to) {
+        boolean[] seen = new boolean[adjacency.size()];
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(from);
+        seen[from] = true;
+        while (!stack.isEmpty()) {
+            int c = stack.pop();
+            if (c == to) {
+                return true;
+            }
+            for (int w : adjacency.get(c)) {
+                if (!seen[w]) {
+                    seen[w] = true;
+                    stack.push(w);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package graph.topo;
+
+import graph.condensation.CondensationBuilder;
+import graph.condensation.CondensationResult;
+import graph.model.CsrGraph;
+import graph.scc.IterativeTarjan;
+import metrics.SimpleMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+// Minimal tests for LevelTopologicalSorter.
+// testLevelsMatchLongestChain: every component sits at level = longest chain of predecessors, levels are
+// sorted by ID, and the parallel run (with a frontier larger than the task grain) equals the sequential one.
+public class LevelTopologicalSorterTest {
+
+    @Test
+    public void testLevelsMatchLongestChain() {
+        Random random = new Random(13);
+        for (int round = 0; round < 10; round++) {
+            int n = 1 + random.nextInt(round < 8 ? 200 : 20_000);
+            int m = random.nextInt(3 * n);
+            int[] us = new int[m];
+            int[] vs = new int[m];
+            for (int i = 0; i < m; i++) {
+                us[i] = random.nextInt(n);
+                vs[i] = random.nextInt(n);
+            }
+            CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, null, m, null);
+            CondensationResult cr = new CondensationBuilder().build(g, new IterativeTarjan(g).findSCCs(null), null);
+            int k = cr.getComponentCount();
+
+            SimpleMetrics metrics = new SimpleMetrics();
+            TopoResult sequential = new LevelTopologicalSorter(1).levelSort(cr, metrics);
+            TopoResult parallel = new LevelTopologicalSorter(4).levelSort(cr, null);
+            Assertions.assertArrayEquals(sequential.getComponentOrderArray(), parallel.getComponentOrderArray());
+            Assertions.assertArrayEquals(sequential.getLevelOffsets(), parallel.getLevelOffsets());
+
+            // Expected level: longest predecessor chain, computed over the min-heap order.
+            int[] expectedLevel = new int[k];
+            CsrGraph dag = cr.getComponentGraph();
+            for (int u : new TopologicalSorter().KahnSort(cr, null).getComponentOrderArray()) {
+                for (int e = dag.getOffsets()[u]; e < dag.getOffsets()[u + 1]; e++) {
+                    int v = dag.getTargets()[e];
+                    expectedLevel[v] = Math.max(expectedLevel[v], expectedLevel[u] + 1);
+                }
+            }
+            int[] order = sequential.getComponentOrderArray();
+            int[] levels = sequential.getLevelOffsets();
+            Assertions.assertEquals(k, levels[levels.length - 1]);
+            Assertions.assertEquals(sequential.getLevelCount(), metrics.get("topo.levels"));
+            for (int level = 0; level < sequential.getLevelCount(); level++) {
+                for (int i = levels[level]; i < levels[level + 1]; i++) {
+                    Assertions.assertEquals(level, expectedLevel[order[i]]);
+                    if (i > levels[level]) {
+                        Assertions.assertTrue(order[i - 1] < order[i]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -2,17 +2,19 @@ package graph.topo;
 
 import graph.condensation.CondensationResult;
 import graph.condensation.CondensationBuilder;
+import graph.model.CsrGraph;
 import graph.model.Edge;
 import graph.model.Graph;
 import graph.model.Node;
+import graph.scc.IterativeTarjan;
+import graph.scc.SccAlgorithms;
+import graph.scc.SccOrder;
+import graph.scc.SccResult;
 import metrics.SimpleMetrics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 // Minimal test for topological sorter on a small condensation.
 public class TopologicalSorterTest {
@@ -65,4 +67,107 @@ public class TopologicalSorterTest {
             }
         }
     }
+
+    @Test
+    public void testStrategies() {
+        Random random = new Random(9);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(100);
+            int m = random.nextInt(3 * n);
+            int[] us = new int[m];
+            int[] vs = new int[m];
+            for (int i = 0; i < m; i++) {
+                us[i] = random.nextInt(n);
+                vs[i] = random.nextInt(n);
+            }
+            CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, null, m, null);
+            CondensationResult cr = new CondensationBuilder().build(g, new IterativeTarjan(g).findSCCs(null), null);
+            int k = cr.getComponentCount();
+
+            // Reference: the boxed PriorityQueue order the sorter used to produce.
+            int[] indegree = new int[k];
+            for (int u = 0; u < k; u++) {
+                for (int v : cr.getAdjacentComponents().get(u)) {
+                    indegree[v]++;
+                }
+            }
+            PriorityQueue<Integer> pq = new PriorityQueue<>();
+            for (int c = 0; c < k; c++) {
+                if (indegree[c] == 0) {
+                    pq.add(c);
+                }
+            }
+            List<Integer> expected = new ArrayList<>();
+            while (!pq.isEmpty()) {
+                int u = pq.poll();
+                expected.add(u);
+                for (int v : cr.getAdjacentComponents().get(u)) {
+                    if (--indegree[v] == 0) {
+                        pq.add(v);
+                    }
+                }
+            }
+
+            TopologicalSorter sorter = new TopologicalSorter();
+            Assertions.assertEquals(expected, sorter.KahnSort(cr, null).getComponentOrder());
+            int[] priority = new int[k];
+            for (int c = 0; c < k; c++) {
+                priority[c] = random.nextInt(8);
+            }
+            for (TopoStrategy strategy : TopoStrategy.values()) {
+                TopoResult res = sorter.KahnSort(cr, strategy, priority, null);
+                assertValidOrder(cr, res.getComponentOrderArray());
+            }
+        }
+    }
+
+    @Test
+    public void testBucketPriority() {
+        // Three independent components: the bucket queue must release them by priority.
+        CsrGraph g = CsrGraph.fromEdgeArrays(3, new int[0], new int[0], null, 0, null);
+        List<List<Integer>> sccs = Arrays.asList(
+                Collections.singletonList(0), Collections.singletonList(1), Collections.singletonList(2));
+        CondensationResult cr = new CondensationBuilder().build(g, sccs, null);
+        TopoResult res = new TopologicalSorter().KahnSort(cr, TopoStrategy.BUCKET, new int[]{5, 0, 2}, null);
+        Assertions.assertEquals(Arrays.asList(1, 2, 0), res.getComponentOrder());
+        Assertions.assertEquals(Arrays.asList(1, 2, 0), res.getDerivedOrder());
+    }
+
+    @Test
+    public void testFromSccOrder() {
+        Random random = new Random(21);
+        int n = 300;
+        int m = 450;
+        int[] us = new int[m];
+        int[] vs = new int[m];
+        for (int i = 0; i < m; i++) {
+            us[i] = random.nextInt(n);
+            vs[i] = random.nextInt(n);
+        }
+        CsrGraph g = CsrGraph.fromEdgeArrays(n, us, vs, null, m, null);
+        for (String name : SccAlgorithms.names()) {
+            SccResult scc = SccAlgorithms.byName(name, 2).findSCCs(g, null);
+            CondensationResult cr = new CondensationBuilder().build(g, scc, null);
+            SimpleMetrics metrics = new SimpleMetrics();
+            TopoResult res = new TopologicalSorter().fromSccOrder(cr, scc.getOrder(), TopoStrategy.MIN_HEAP, metrics);
+            assertValidOrder(cr, res.getComponentOrderArray());
+            boolean fast = scc.getOrder() != SccOrder.UNORDERED;
+            Assertions.assertEquals(fast ? 1 : 0, metrics.get("topo.path.fast"), name);
+            Assertions.assertEquals(fast ? 0 : 1, metrics.get("topo.path.kahn"), name);
+            Assertions.assertEquals(SccAlgorithms.PARALLEL.equals(name), !fast, name);
+        }
+    }
+
+    private static void assertValidOrder(CondensationResult cr, int[] order) {
+        int[] pos = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            pos[order[i]] = i;
+        }
+        Assertions.assertEquals(cr.getComponentCount(), order.length);
+        for (int u = 0; u < cr.getComponentCount(); u++) {
+            for (int v : cr.getAdjacentComponents().get(u)) {
+                Assertions.assertTrue(pos[u] < pos[v], "topo order violated for edge " + u + "->" + v);
+            }
+        }
+    }
 }